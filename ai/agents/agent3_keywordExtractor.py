@@ -460,7 +460,7 @@ def run_location_recommendation():
 # =========================================================
 # 9. 메인 파이프라인
 # =========================================================
-def run_agent_pipeline(korean_text="", image_path="", location_payload=None) -> dict:    
+def run_agent_pipeline(korean_text="", image_path="", location_payload=None, english_caption=None) -> dict:    
     
     # 1) 위치 기반 분석 요청이면, Agent4 실행
     if location_payload:
@@ -493,8 +493,9 @@ def run_agent_pipeline(korean_text="", image_path="", location_payload=None) ->
     # Agent1: 한국어 → 영어 번역
     english_text = korean_to_english(korean_text) if korean_text else ""
 
-    # Agent2: 이미지 → 영어 캡션
-    english_caption = image_to_english_caption(image_path) if image_path else ""
+    # Agent2: 이미지 → 영어 캡션 (백엔드가 캐시된 캡션을 주면 생략)
+    if english_caption is None:
+        english_caption = image_to_english_caption(image_path) if image_path else ""
 
     # Agent3-1: 문장 합치기
     merged = rewrite_combined_sentence(english_text, english_caption, full_history)
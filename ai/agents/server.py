@@ -85,6 +85,7 @@ def decode_base64_to_image(b64_str):
 @app.route("/api/recommend", methods=["POST"])
 def recommend():
     image_path = ""
+    owns_image_file = False  # 직접 만든 임시 파일만 삭제 (공유 경로는 백엔드 소유)
 
     try:
         data = request.get_json(silent=True)
@@ -100,6 +101,16 @@ def recommend():
         raw_image = data.get("imageBase64")
         image_base64_list = normalize_base64(raw_image)
 
+        # --- 이미지 경로 (백엔드가 이미 저장한 파일, Base64 대신 전달됨) ---
+        shared_image_path = data.get("imagePath")
+        image_path_missing = bool(shared_image_path) and not os.path.isfile(shared_image_path)
+        if image_path_missing:
+            print(f"⚠️ imagePath 파일 없음: {shared_image_path}")
+            shared_image_path = None
+
+        # --- 캐시된 이미지 캡션 (같은 사진을 이미 캡셔닝한 경우, 이미지 대신 전달됨) ---
+        cached_caption = data.get("imageCaption")
+
         # --- Location / Nearby music ---
         location_data = data.get("location")
         nearby_music = data.get("nearbyMusic", [])
@@ -107,7 +118,7 @@ def recommend():
         print("\n==============================")
         print(f"🚀 [Flask] Request (session={session_id})")
         print(f"🗣️ inputText = {korean_text}")
-        print(f"🖼️ image exists = {bool(image_base64_list)}")
+        print(f"🖼️ image exists = {bool(image_base64_list or shared_image_path or cached_caption)}")
         print(f"📍 location exists = {bool(location_data)}")
         print(f"🎧 nearbyMusic exists = {bool(nearby_music)}")
         print("==============================\n")
@@ -150,17 +161,32 @@ def recommend():
         else:
             print("🚀 Agent1~3 실행 (MY 모드)")
 
-            if image_base64_list:
+            if image_path_missing and not cached_caption and not image_base64_list:
+                # 백엔드와 파일시스템을 공유하지 않음 (다른 호스트 / 컨테이너)
+                # → 이미지 없이 추천하지 않고 422: 백엔드가 Base64로 다시 보냄
+                return jsonify({
+                    "error": "imagePath not readable on AI server",
+                    "code": "IMAGE_PATH_NOT_FOUND",
+                }), 422
+
+            if cached_caption:
+                print("📝 Using cached image caption")
+            elif shared_image_path:
+                image_path = shared_image_path
+                print(f"📁 Using shared image at {image_path}")
+            elif image_base64_list:
                 img = decode_base64_to_image(image_base64_list[0])
                 if img:
                     tmp_path = f"/tmp/wink_img_{uuid.uuid4().hex}.png"
                     img.save(tmp_path)
                     image_path = tmp_path
+                    owns_image_file = True
                     print(f"📁 Saved image at {image_path}")
 
             result = run_agent_pipeline(
                 korean_text=korean_text,
-                image_path=image_path
+                image_path=image_path,
+                english_caption=cached_caption or None
             )
 
         # --------------------------------------------------------
@@ -245,14 +271,14 @@ def recommend():
         print("\n📦 FINAL RESPONSE JSON:")
         print(json.dumps(response, indent=2, ensure_ascii=False))
 
-        if image_path and os.path.exists(image_path):
+        if owns_image_file and os.path.exists(image_path):
             os.remove(image_path)
 
         return jsonify(response), 200
 
     except Exception as e:
         print("🔥 서버 내부 오류:", e)
-        if image_path and os.path.exists(image_path):
+        if owns_image_file and os.path.exists(image_path):
             os.remove(image_path)
         return jsonify({"error": str(e)}), 500
 
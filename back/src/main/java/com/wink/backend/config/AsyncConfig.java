@@ -0,0 +1,89 @@
+package com.wink.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 작업용 스레드 풀 모음
+ * - 용도별로 풀을 분리해서 서로의 작업이 스레드를 잡아먹지 않도록 한다.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /** AI 응답 후처리(Gemini 해석/번역) 병렬 실행용 */
+    @Bean(name = "enrichmentExecutor")
+    public ThreadPoolTaskExecutor enrichmentExecutor(
+            @Value("${chat.enrichment.pool-size:8}") int poolSize,
+            @Value("${chat.enrichment.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("enrich-", poolSize, queueCapacity);
+    }
+
+    /** 세션 시작 파이프라인(주제 생성 / 이미지 저장 / AI 요청) 동시 실행용 */
+    @Bean(name = "chatPipelineExecutor")
+    public ThreadPoolTaskExecutor chatPipelineExecutor(
+            @Value("${chat.pipeline.pool-size:16}") int poolSize,
+            @Value("${chat.pipeline.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("chat-pipeline-", poolSize, queueCapacity);
+    }
+
+    /**
+     * SSE 스트리밍 응답에서 채팅 턴 전체를 실행하는 용도 (파이프라인 풀과 분리해 교착 방지)
+     * - 가득 차면 거절 → 요청 스레드에서 턴을 돌리지 않고 error 이벤트로 바로 종료
+     */
+    @Bean(name = "chatStreamExecutor")
+    public ThreadPoolTaskExecutor chatStreamExecutor(
+            @Value("${chat.stream.pool-size:8}") int poolSize,
+            @Value("${chat.stream.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = boundedExecutor("chat-stream-", poolSize, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /** 비동기 작업 모드(202 + 폴링) 작업 실행용 - 가득 차면 거절하고 작업을 실패로 기록 */
+    @Bean(name = "chatJobExecutor")
+    public ThreadPoolTaskExecutor chatJobExecutor(
+            @Value("${chat.job.pool-size:8}") int poolSize,
+            @Value("${chat.job.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = boundedExecutor("chat-job-", poolSize, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /** 업로드 이미지 축소본(분석용 / 썸네일) 생성용 - CPU·메모리를 많이 쓰므로 작게 유지 */
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor(
+            @Value("${image.processing.pool-size:2}") int poolSize,
+            @Value("${image.processing.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("image-proc-", poolSize, queueCapacity);
+    }
+
+    /**
+     * 종료된 세션 요약 미리 만들기 - Gemini BACKGROUND 작업이라 작게 유지
+     * - 가득 차면 버림 (세션 시작 요청 스레드에서 실행하지 않음, 조회 시 다시 만듦)
+     */
+    @Bean(name = "summaryExecutor")
+    public ThreadPoolTaskExecutor summaryExecutor(
+            @Value("${chat.summary.pool-size:2}") int poolSize,
+            @Value("${chat.summary.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = boundedExecutor("chat-summary-", poolSize, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    static ThreadPoolTaskExecutor boundedExecutor(String prefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // 큐가 가득 차면 호출 스레드에서 직접 실행 (요청을 버리지 않음)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -1,14 +1,96 @@
 package com.wink.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 외부 HTTP 호출(AI 서버, 카카오 API 등) 공용 클라이언트
+ * - 커넥션 풀 + keep-alive → 매 요청마다 TCP 연결을 새로 맺지 않음
+ * - 유휴 / 만료 커넥션 정리, 풀 사용량 메트릭 (httpcomponents.httpclient.pool.*)
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${http.client.max-total:100}") int maxTotal,
+            @Value("${http.client.max-per-route:20}") int maxPerRoute,
+            @Value("${http.client.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${http.client.time-to-live:10m}") Duration timeToLive,
+            @Value("${http.client.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        // 서버가 먼저 끊은 keep-alive 커넥션 재사용 방지
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, "outbound").bindTo(meterRegistry);
+        return manager;
+    }
+
+    @Bean
+    public CloseableHttpClient pooledHttpClient(
+            PoolingHttpClientConnectionManager httpConnectionManager,
+            @Value("${http.client.keep-alive:30s}") Duration keepAlive,
+            @Value("${http.client.idle-eviction:60s}") Duration idleEviction) {
+
+        TimeValue maxKeepAlive = TimeValue.ofMilliseconds(keepAlive.toMillis());
+
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                // 서버가 Keep-Alive 헤더를 안 보내도 최대 keepAlive 동안 재사용
+                .setKeepAliveStrategy((response, context) -> maxKeepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .build();
+    }
+
+    /** 기본 RestTemplate (공용 풀 사용, 응답 기본 charset UTF-8) */
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient pooledHttpClient,
+                                     @Value("${http.client.pool-timeout:2s}") Duration poolTimeout,
+                                     @Value("${http.client.read-timeout:10s}") Duration readTimeout) {
+        return pooledRestTemplate(pooledHttpClient, poolTimeout, readTimeout);
+    }
+
+    /**
+     * 같은 커넥션 풀을 쓰되 호출부마다 응답 타임아웃만 다르게
+     * - poolTimeout: 풀이 꽉 찼을 때 커넥션을 기다리는 최대 시간
+     */
+    public static RestTemplate pooledRestTemplate(CloseableHttpClient httpClient,
+                                                  Duration poolTimeout, Duration readTimeout) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectionRequestTimeout(poolTimeout);
+        factory.setReadTimeout(readTimeout);
+
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getMessageConverters().stream()
+                .filter(c -> c instanceof StringHttpMessageConverter)
+                .findFirst()
+                .ifPresent(c -> ((StringHttpMessageConverter) c).setDefaultCharset(StandardCharsets.UTF_8));
+        return restTemplate;
     }
 }
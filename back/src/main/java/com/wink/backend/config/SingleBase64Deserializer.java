@@ -4,27 +4,183 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.wink.backend.dto.ImageUpload;
+import io.micrometer.core.instrument.Metrics;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
 
-public class SingleBase64Deserializer extends JsonDeserializer<String> {
+/**
+ * Base64 이미지 값 → 임시 파일 (ImageUpload 핸들)
+ * ⚠️ 하위 호환용 (deprecated) - 이미지 업로드 기본 경로는 multipart(image 파트)
+ * - 메모리는 제한되지 않음: getText(Writer) 도 Jackson이 문자열 토큰 전체를 TextBuffer(char[])에
+ *   모은 뒤 넘겨줌 → 요청당 Base64 길이 × 2 bytes (원본 이미지의 약 2.7배) 힙 사용
+ *   (여기서는 그 위에 String / byte[] 사본을 더 만들지 않을 뿐)
+ * - 사용량은 chat.image.upload{format=base64-json} 으로 확인 → 0이 되면 제거
+ * - "data:image/...;base64," 접두어는 건너뜀
+ * - 기록하면서 SHA-256도 같이 계산 (내용 주소 저장 / 중복 판별용)
+ * - 배열로 들어오면 첫 번째 값만 사용
+ */
+public class SingleBase64Deserializer extends JsonDeserializer<ImageUpload> {
+
+    // 요청 처리 중에만 쓰이는 임시 파일 (남은 것은 ImageSweeper가 정리)
+    public static final Path TEMP_DIR =
+            Paths.get(System.getProperty("java.io.tmpdir"), "wink-uploads");
 
     @Override
-    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    public ImageUpload deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
 
-        // 배열로 들어온 경우 → 첫 번째 값만 반환
+        // 배열로 들어온 경우 → 첫 번째 값만 사용
         if (p.currentToken() == JsonToken.START_ARRAY) {
             p.nextToken(); // 첫 번째 요소로 이동
-            String first = p.getValueAsString(); // 첫 번째 값만 사용
+            ImageUpload first = readValue(p);
 
             // 나머지는 그냥 skip
-            while (p.nextToken() != JsonToken.END_ARRAY) {
+            while (p.currentToken() != JsonToken.END_ARRAY && p.nextToken() != JsonToken.END_ARRAY) {
                 p.skipChildren();
             }
             return first;
         }
 
-        // 문자열로 들어온 경우 → 그대로 사용
-        return p.getValueAsString();
+        // 문자열로 들어온 경우
+        return readValue(p);
+    }
+
+    private ImageUpload readValue(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            p.skipChildren(); // 객체/배열이면 통째로 건너뜀
+            return null;
+        }
+
+        Metrics.counter("chat.image.upload", "format", "base64-json").increment();
+
+        Files.createDirectories(TEMP_DIR);
+        Path tmp = Files.createTempFile(TEMP_DIR, "upload_", ".img");
+
+        MessageDigest digest = sha256();
+        try (DecodingWriter writer = new DecodingWriter(
+                new DigestOutputStream(Files.newOutputStream(tmp), digest))) {
+            p.getText(writer);
+            writer.finish();
+
+            if (writer.written == 0) {
+                Files.deleteIfExists(tmp);
+                return null;
+            }
+            return new ImageUpload(tmp, writer.written, HexFormat.of().formatHex(digest.digest()));
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 받은 문자를 4글자 단위로 모아 디코딩 → 파일로 흘려보냄
+     * (버퍼는 고정 크기, 이미지 크기와 무관)
+     */
+    private static class DecodingWriter extends Writer {
+
+        private static final int CHUNK = 64 * 1024;     // 4의 배수
+        private static final int MAX_PREFIX_LENGTH = 256;
+
+        private final OutputStream out;
+        private final Base64.Decoder decoder = Base64.getDecoder();
+        private final byte[] chunk = new byte[CHUNK];
+        private final byte[] decoded = new byte[CHUNK / 4 * 3];
+        private int filled;
+        private long written;
+
+        // data URL 접두어 판별용
+        private final StringBuilder head = new StringBuilder();
+        private boolean headDone;
+
+        private DecodingWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                char c = cbuf[i];
+
+                if (!headDone) {
+                    head.append(c);
+                    if (!"data:".startsWith(head.toString()) && !head.toString().startsWith("data:")) {
+                        // 접두어 없음 → 모아둔 글자부터 그대로 디코딩
+                        headDone = true;
+                        String buffered = head.toString();
+                        head.setLength(0);
+                        for (int j = 0; j < buffered.length(); j++) decodeChar(buffered.charAt(j));
+                    } else if (c == ',') {
+                        headDone = true;
+                        head.setLength(0);
+                    } else if (head.length() > MAX_PREFIX_LENGTH) {
+                        throw new IOException("잘못된 data URL 형식");
+                    }
+                    continue;
+                }
+
+                decodeChar(c);
+            }
+        }
+
+        private void decodeChar(char c) throws IOException {
+            if (c == '\r' || c == '\n' || c == ' ' || c == '\t') return;
+            chunk[filled++] = (byte) c;
+            if (filled == CHUNK) flushChunk(chunk);
+        }
+
+        private void flushChunk(byte[] src) throws IOException {
+            try {
+                int n = decoder.decode(src, decoded);
+                out.write(decoded, 0, n);
+                written += n;
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Base64 디코딩 실패: " + e.getMessage(), e);
+            }
+            filled = 0;
+        }
+
+        /** 남은 글자(마지막 패딩 포함) 디코딩 */
+        private void finish() throws IOException {
+            if (!headDone) {
+                // 접두어 판별 전에 값이 끝남 → 모아둔 글자 그대로 디코딩
+                headDone = true;
+                for (int j = 0; j < head.length(); j++) decodeChar(head.charAt(j));
+            }
+            if (filled > 0) {
+                flushChunk(Arrays.copyOf(chunk, filled));
+            }
+            out.flush();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
     }
 }
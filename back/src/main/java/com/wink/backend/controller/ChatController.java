@@ -3,9 +3,19 @@ package com.wink.backend.controller;
 
 import com.wink.backend.dto.*;
 import com.wink.backend.service.ChatService;
+import com.wink.backend.service.ChatStreamService;
+import com.wink.backend.service.ImageService;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,9 +24,14 @@ import java.util.List;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatStreamService chatStreamService;
+    private final ImageService imageService;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService, ChatStreamService chatStreamService,
+                          ImageService imageService) {
         this.chatService = chatService;
+        this.chatStreamService = chatStreamService;
+        this.imageService = imageService;
     }
 
     // -----------------------------------
@@ -51,6 +66,92 @@ public class ChatController {
         return chatService.sendUserMessage(req);
     }
 
+    // -----------------------------------
+    // ③-1 스트리밍(SSE) 버전: 단계별 결과를 끝나는 대로 전송
+    //  이벤트: session → topic / recommendations / interpretedSentence / keywords / imageDescription → complete
+    // -----------------------------------
+    @Operation(summary = "새 채팅 시작 (나의 순간) - SSE 스트리밍")
+    @PostMapping(value = "/start/my/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter startMyStream(@RequestBody ChatStartMyRequest req) {
+        return chatStreamService.startMy(req);
+    }
+
+    @Operation(summary = "새 채팅 시작 (공간의 순간) - SSE 스트리밍")
+    @PostMapping(value = "/start/space/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter startSpaceStream(@RequestBody ChatStartSpaceRequest req) {
+        return chatStreamService.startSpace(req);
+    }
+
+    @Operation(summary = "메시지 전송 (최신 세션만) - SSE 스트리밍")
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter sendUserMessageStream(@RequestBody ChatMessageRequest req) {
+        return chatStreamService.sendUserMessage(req);
+    }
+
+    // -----------------------------------
+    // ③-2 multipart 버전: 이미지는 바이너리 파트(image), 나머지는 JSON 파트(request)
+    //  - 이미지 업로드 기본 경로 (JSON 본문의 imageBase64 는 deprecated: 토큰 전체를 힙에 올림)
+    //  - Base64(+33%) 없이 업로드, 컨테이너가 받아 둔 파트 파일을 저장소로 옮김 (다시 복사하지 않음)
+    //  - request 파트는 Content-Type: application/json 으로 전송
+    // -----------------------------------
+    @Operation(summary = "새 채팅 시작 (나의 순간) - multipart 이미지")
+    @PostMapping(value = "/start/my", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ChatHistoryResponse startMyMultipart(@RequestPart("request") ChatStartMyRequest req,
+                                                @RequestPart(value = "image", required = false) MultipartFile image) throws IOException {
+        req.setImageBase64(receive(image, req.getImageBase64()));
+        return chatService.startMy(req);
+    }
+
+    @Operation(summary = "새 채팅 시작 (공간의 순간) - multipart 이미지")
+    @PostMapping(value = "/start/space", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ChatHistoryResponse startSpaceMultipart(@RequestPart("request") ChatStartSpaceRequest req,
+                                                   @RequestPart(value = "image", required = false) MultipartFile image) throws IOException {
+        req.setImageBase64(receive(image, req.getImageBase64()));
+        return chatService.startSpace(req);
+    }
+
+    @Operation(summary = "메시지 전송 (최신 세션만) - multipart 이미지")
+    @PostMapping(value = "/message", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ChatHistoryResponse sendUserMessageMultipart(@RequestPart("request") ChatMessageRequest req,
+                                                        @RequestPart(value = "image", required = false) MultipartFile image) throws IOException {
+        req.setImageBase64(receive(image, req.getImageBase64()));
+        return chatService.sendUserMessage(req);
+    }
+
+    @Operation(summary = "새 채팅 시작 (나의 순간) - multipart 이미지 + SSE 스트리밍")
+    @PostMapping(value = "/start/my/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter startMyStreamMultipart(@RequestPart("request") ChatStartMyRequest req,
+                                             @RequestPart(value = "image", required = false) MultipartFile image) throws IOException {
+        req.setImageBase64(receive(image, req.getImageBase64()));
+        return chatStreamService.startMy(req);
+    }
+
+    @Operation(summary = "새 채팅 시작 (공간의 순간) - multipart 이미지 + SSE 스트리밍")
+    @PostMapping(value = "/start/space/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter startSpaceStreamMultipart(@RequestPart("request") ChatStartSpaceRequest req,
+                                                @RequestPart(value = "image", required = false) MultipartFile image) throws IOException {
+        req.setImageBase64(receive(image, req.getImageBase64()));
+        return chatStreamService.startSpace(req);
+    }
+
+    @Operation(summary = "메시지 전송 (최신 세션만) - multipart 이미지 + SSE 스트리밍")
+    @PostMapping(value = "/message/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter sendUserMessageStreamMultipart(@RequestPart("request") ChatMessageRequest req,
+                                                     @RequestPart(value = "image", required = false) MultipartFile image) throws IOException {
+        req.setImageBase64(receive(image, req.getImageBase64()));
+        return chatStreamService.sendUserMessage(req);
+    }
+
+    /** 이미지 파트 → 임시 파일 핸들 (파트가 없으면 JSON에 들어온 Base64 이미지 유지) */
+    private ImageUpload receive(MultipartFile image, ImageUpload fromJson) throws IOException {
+        if (image == null || image.isEmpty()) return fromJson;
+        if (fromJson != null) fromJson.discard();
+        return imageService.receive(image);
+    }
+
     // -----------------------------------
     // ④ 세션 전체 기록 조회 (모든 세션 가능)
     // -----------------------------------
@@ -60,6 +161,19 @@ public class ChatController {
         return chatService.getChatFullHistory(sessionId);
     }
 
+    // ④-1 키셋(커서) 페이지: 오래된 메시지부터 limit 개, 응답의 nextCursor 로 이어서 조회
+    @Operation(summary = "채팅 기록 페이지 조회 (커서)")
+    @GetMapping("/{sessionId}/full/page")
+    public CursorPageResponse<ChatMessageResponse> getFullChatPage(@PathVariable Long sessionId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "30") int limit) {
+        try {
+            return chatService.getChatHistoryPage(sessionId, cursor, clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(e);
+        }
+    }
+
     // -----------------------------------
     // ⑤ 최신이 아닌 세션 요약 조회
     // -----------------------------------
@@ -73,16 +187,57 @@ public class ChatController {
     // -----------------------------------
     // ⑥ 세션 목록 조회
     // -----------------------------------
+    //  page / size 를 주면 해당 페이지만 (없으면 전체, 기존 동작)
     @Operation(summary = "나의 순간 세션 목록 조회")
     @GetMapping("/sessions/my")
-    public List<ChatSessionSummaryResponse> getMySessions() {
-        return chatService.getMySessionList();
+    public List<ChatSessionSummaryResponse> getMySessions(@RequestParam(required = false) Integer page,
+                                                          @RequestParam(required = false) Integer size) {
+        return chatService.getSessionList("MY", pageOf(page, size));
     }
 
     @Operation(summary = "공간의 순간 세션 목록 조회")
     @GetMapping("/sessions/space")
-    public List<ChatSessionSummaryResponse> getSpaceSessions() {
-        return chatService.getSpaceSessionList();
+    public List<ChatSessionSummaryResponse> getSpaceSessions(@RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size) {
+        return chatService.getSessionList("SPACE", pageOf(page, size));
+    }
+
+    // ⑥-1 키셋(커서) 페이지: 최신 세션부터 limit 개
+    @Operation(summary = "나의 순간 세션 목록 페이지 조회 (커서)")
+    @GetMapping("/sessions/my/page")
+    public CursorPageResponse<ChatSessionSummaryResponse> getMySessionsPage(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return chatService.getSessionListPage("MY", cursor, clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(e);
+        }
+    }
+
+    @Operation(summary = "공간의 순간 세션 목록 페이지 조회 (커서)")
+    @GetMapping("/sessions/space/page")
+    public CursorPageResponse<ChatSessionSummaryResponse> getSpaceSessionsPage(@RequestParam(required = false) String cursor,
+                                                                               @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return chatService.getSessionListPage("SPACE", cursor, clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(e);
+        }
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), 100);
+    }
+
+    // 클라이언트가 보낸 커서가 깨졌으면 500 이 아니라 400
+    private static ResponseStatusException invalidCursor(IllegalArgumentException e) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+    }
+
+    private static Pageable pageOf(Integer page, Integer size) {
+        if (page == null && size == null) return Pageable.unpaged();
+        return PageRequest.of(page != null ? Math.max(page, 0) : 0,
+                              size != null ? Math.min(Math.max(size, 1), 100) : 20);
     }
 
     // -----------------------------------
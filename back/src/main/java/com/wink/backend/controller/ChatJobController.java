@@ -0,0 +1,77 @@
+package com.wink.backend.controller;
+
+import com.wink.backend.dto.ChatJobResponse;
+import com.wink.backend.dto.ChatMessageRequest;
+import com.wink.backend.dto.ChatStartMyRequest;
+import com.wink.backend.dto.ChatStartSpaceRequest;
+import com.wink.backend.service.ChatJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/chat/jobs")
+@CrossOrigin(origins = "*")
+public class ChatJobController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ChatJobService chatJobService;
+
+    public ChatJobController(ChatJobService chatJobService) {
+        this.chatJobService = chatJobService;
+    }
+
+    // -----------------------------------
+    // ① 비동기 작업 제출 → 202 + jobId
+    //  (같은 Idempotency-Key 재시도 시 기존 작업 반환)
+    // -----------------------------------
+    @Operation(summary = "새 채팅 시작 (나의 순간) - 비동기 작업")
+    @PostMapping("/start/my")
+    public ResponseEntity<ChatJobResponse> startMy(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody ChatStartMyRequest req) {
+        return accepted(chatJobService.submitStartMy(idempotencyKey, req));
+    }
+
+    @Operation(summary = "새 채팅 시작 (공간의 순간) - 비동기 작업")
+    @PostMapping("/start/space")
+    public ResponseEntity<ChatJobResponse> startSpace(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody ChatStartSpaceRequest req) {
+        return accepted(chatJobService.submitStartSpace(idempotencyKey, req));
+    }
+
+    @Operation(summary = "메시지 전송 (최신 세션만) - 비동기 작업")
+    @PostMapping("/message")
+    public ResponseEntity<ChatJobResponse> sendUserMessage(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody ChatMessageRequest req) {
+        return accepted(chatJobService.submitMessage(idempotencyKey, req));
+    }
+
+    // -----------------------------------
+    // ② 작업 상태 폴링 / 완료 구독
+    // -----------------------------------
+    @Operation(summary = "비동기 작업 상태 조회")
+    @GetMapping("/{jobId}")
+    public ChatJobResponse getJob(@PathVariable String jobId) {
+        return chatJobService.getJob(jobId);
+    }
+
+    @Operation(summary = "비동기 작업 완료 구독 (SSE)")
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String jobId) {
+        return chatJobService.subscribe(jobId);
+    }
+
+    private ResponseEntity<ChatJobResponse> accepted(ChatJobResponse job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/chat/jobs/" + job.getJobId()))
+                .body(job);
+    }
+}
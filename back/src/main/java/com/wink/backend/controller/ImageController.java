@@ -0,0 +1,115 @@
+package com.wink.backend.controller;
+
+import com.wink.backend.service.ImageProcessingService;
+import com.wink.backend.service.ImageService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 채팅 이미지 전송 (/chat-images/**)
+ * - 내용 해시 기반 강한 ETag + immutable 캐시 → 기록을 다시 봐도 재다운로드 없음
+ * - Range 없는 GET은 Tomcat sendfile(커널 zero-copy)로 전송
+ * - variant=thumb|analysis 로 축소본 요청 (없으면 원본)
+ */
+@RestController
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    // Tomcat이 sendfile 지원 여부를 알려주고, 전송할 파일을 넘겨받는 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageService imageService;
+
+    public ImageController(ImageService imageService) {
+        this.imageService = imageService;
+    }
+
+    @Operation(summary = "채팅 이미지 조회 (ETag / 조건부 GET / Range 지원, variant=thumb|analysis)")
+    @GetMapping("/chat-images/{*path}")
+    public ResponseEntity<Resource> serve(@PathVariable String path,
+                                          @RequestParam(required = false) String variant,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) throws IOException {
+
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        Path original = relative.endsWith(".jpg") ? imageService.resolveInside(relative) : null;
+        if (original == null || !Files.isRegularFile(original)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 축소본 요청 → 있으면 축소본, 아직 없으면 원본
+        Path file = original;
+        String served = "original";
+        if (ImageProcessingService.THUMBNAIL.equals(variant) || ImageProcessingService.ANALYSIS.equals(variant)) {
+            Path candidate = imageService.resolveInside(ImageProcessingService.variantOf(relative, variant));
+            if (candidate != null && Files.isRegularFile(candidate)) {
+                file = candidate;
+                served = variant;
+            }
+        }
+
+        long size = Files.size(file);
+        String hash = ImageService.contentHash(relative);
+
+        String eTag;
+        CacheControl cacheControl;
+        if (hash != null && (variant == null || served.equals(variant))) {
+            // 경로 = 내용 해시 → 같은 URL의 내용은 바뀌지 않음
+            eTag = "\"" + hash + "-" + served + "-" + size + "\"";
+            cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+        } else if (hash != null) {
+            // 축소본이 아직 없어 원본으로 대신 응답 → 나중에 축소본으로 바뀌므로 짧게만 캐시
+            eTag = "\"" + hash + "-" + served + "-" + size + "\"";
+            cacheControl = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+        } else {
+            // 예전 파일명(millis_uuid.jpg)
+            eTag = "\"" + size + "-" + Files.getLastModifiedTime(file).toMillis() + "\"";
+            cacheControl = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+        }
+
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && "GET".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null;
+
+        if (!sendfile) {
+            // Range / If-None-Match 처리는 스프링(ResourceRegion)에 맡김
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .cacheControl(cacheControl)
+                    .eTag(eTag)
+                    .body(new FileSystemResource(file));
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return null; // 304 (ETag 헤더는 checkNotModified가 설정)
+        }
+
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // 본문은 쓰지 않고 Tomcat에 파일만 넘김 → FileChannel.transferTo 로 전송
+        request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, size);
+        return null;
+    }
+}
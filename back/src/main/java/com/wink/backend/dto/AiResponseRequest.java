@@ -2,6 +2,7 @@ package com.wink.backend.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.wink.backend.config.SingleBase64Deserializer;
 
@@ -14,7 +15,12 @@ public class AiResponseRequest {
     private String inputText;
 
     @JsonDeserialize(using = SingleBase64Deserializer.class)
-    private String imageBase64;   // 단일 문자열!
+    private ImageUpload imageBase64;   // 단일 이미지 → 디코딩된 임시 파일 핸들
+
+    // 서버에 이미 저장된 이미지 파일명 → AI 서버에는 Base64 대신 경로로 전달
+    // (내부용: 클라이언트가 임의 경로를 지정하지 못하도록 JSON 바인딩 제외)
+    @JsonIgnore
+    private String imageFileName;
 
     private ChatStartSpaceRequest.Location location;
     private List<ChatStartSpaceRequest.NearbyMusic> nearbyMusic;
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,10 +43,10 @@ public class AiResponseResponse {
 
     private LocalDateTime timestamp;
 
-    @Data
+    // 불변 (setter 없음) - ChatMessage 변환기 캐시가 같은 객체를 여러 메시지에 공유함
+    @Value
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Jacksonized
     public static class Recommendation {
         private String songId;
         private String title;
@@ -0,0 +1,25 @@
+package com.wink.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatJobResponse {
+    private String jobId;
+    private String type;
+    private String status;      // PENDING / RUNNING / DONE / FAILED
+    private Long sessionId;
+    private ChatHistoryResponse result;   // DONE 일 때만
+    private String error;                 // FAILED 일 때만
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -14,7 +14,7 @@ public class ChatMessageRequest {
     private String text;        // 사용자 메시지 텍스트
 
     @JsonDeserialize(using = SingleBase64Deserializer.class)
-    private String imageBase64; // Base64 문자열
+    private ImageUpload imageBase64; // Base64 → 디코딩된 임시 파일 핸들
 
     @Override
     public String toString() {
@@ -22,7 +22,7 @@ public class ChatMessageRequest {
                 "sessionId=" + sessionId +
                 ", text='" + text + '\'' +
                 ", imageBase64='" + 
-                     (imageBase64 != null ? "length=" + imageBase64.length() : null)
+                     (imageBase64 != null ? "size=" + imageBase64.getSize() : null)
                      + '\'' +
                 '}';
     }
@@ -14,6 +14,7 @@ public class ChatMessageResponse {
     private String sender;
     private String text;
     private List<String> imageBase64;
+    private String thumbnailUrl;      // 작은 썸네일 (없으면 원본 URL)
     private List<String> keywords;
     private List<AiResponseResponse.Recommendation> recommendations;
     private String mergedSentence;
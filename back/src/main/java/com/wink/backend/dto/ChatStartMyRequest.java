@@ -1,9 +1,14 @@
 package com.wink.backend.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.wink.backend.config.SingleBase64Deserializer;
+
 import lombok.Data;
 
 @Data
 public class ChatStartMyRequest {
     private String inputText;
-    private String imageBase64;  
+
+    @JsonDeserialize(using = SingleBase64Deserializer.class)
+    private ImageUpload imageBase64;  // 디코딩된 임시 파일 핸들
 }
@@ -1,5 +1,8 @@
 package com.wink.backend.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.wink.backend.config.SingleBase64Deserializer;
+
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
@@ -8,7 +11,8 @@ import java.util.List;
 
 @Data
 public class ChatStartSpaceRequest {
-    private String imageBase64;
+    @JsonDeserialize(using = SingleBase64Deserializer.class)
+    private ImageUpload imageBase64;  // 디코딩된 임시 파일 핸들
 
     private Location location;
     private List<NearbyMusic> nearbyMusic;
@@ -0,0 +1,24 @@
+package com.wink.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 키셋(커서) 페이지 응답
+ * - nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 조회 (hasNext=false 면 null)
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,56 @@
+package com.wink.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 요청 본문의 Base64 이미지를 디코딩해 둔 임시 파일 핸들
+ * (multipart 요청이면 이미지 파트를 그대로 기록한 임시 파일)
+ * - DTO에는 이미지 문자열 대신 이 핸들만 담긴다 (힙에는 경로 + 크기만)
+ * - ImageService.saveUpload 로 업로드 폴더로 옮기거나, 쓰지 않으면 discard
+ */
+@Schema(type = "string", deprecated = true,
+        description = "Base64 이미지 (data URL 형식 허용) - deprecated: multipart 요청의 image 파트 사용")
+public class ImageUpload {
+
+    private final Path file;
+    private final long size;
+    private final String sha256;
+
+    public ImageUpload(Path file, long size, String sha256) {
+        this.file = file;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** 디코딩된 바이트 수 */
+    public long getSize() {
+        return size;
+    }
+
+    /** 디코딩된 내용의 SHA-256 (hex) → 저장 경로 / 중복 판별 키 */
+    public String getSha256() {
+        return sha256;
+    }
+
+    /** 임시 파일 삭제 (이미 옮겨졌으면 아무 일도 안 함) */
+    public void discard() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("⚠️ 임시 이미지 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ImageUpload{size=" + size + "}";
+    }
+}
@@ -18,6 +18,8 @@ public class AiRecommendation {
   private ChatSession session;
 
   @Column(columnDefinition="TEXT") private String summary;
+  // 마지막 user 메시지 한 줄 요약
+  @Column(columnDefinition="TEXT") private String latestUserSummary;
   @Column(name="keywords_json", columnDefinition="JSON") private String keywordsJson;
   @Column(nullable=false) private LocalDateTime createdAt = LocalDateTime.now();
 
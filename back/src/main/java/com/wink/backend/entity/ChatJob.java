@@ -0,0 +1,45 @@
+package com.wink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 채팅 작업 (202 + 폴링 모드)
+ * - idempotencyKey 로 같은 요청의 재시도를 하나의 작업으로 묶는다.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "chat_job")
+public class ChatJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String idempotencyKey;
+
+    // START_MY / START_SPACE / MESSAGE
+    private String type;
+
+    // PENDING / RUNNING / DONE / FAILED
+    private String status;
+
+    private Long sessionId;
+
+    // 이번 작업이 저장한 사용자 메시지 (있으면 재시도 때 AI 단계만 다시 실행)
+    private Long userMessageId;
+
+    // 완료 시 ChatHistoryResponse JSON
+    @Column(columnDefinition = "LONGTEXT")
+    private String resultJson;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
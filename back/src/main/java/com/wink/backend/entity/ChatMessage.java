@@ -1,13 +1,19 @@
 package com.wink.backend.entity;
 
+import com.wink.backend.dto.AiResponseResponse;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Getter
 @Setter
+@Table(indexes = {
+        // 세션 기록 조회 / 키셋 페이지 (session_id, created_at, id)
+        @Index(name = "idx_chat_message_session_created", columnList = "session_id, created_at, id")
+})
 public class ChatMessage {
 
     @Id
@@ -23,12 +29,16 @@ public class ChatMessage {
     private String text;
     private String imageUrl;
 
-    // ✅ AI 키워드와 추천곡을 JSON으로 저장
-    @Column(columnDefinition = "TEXT")
-    private String keywordsJson;
+    // ✅ AI 키워드와 추천곡을 JSON으로 저장 (읽을 때 변환기가 한 번만 파싱)
+    // ⚠️ 같은 JSON을 가진 엔티티끼리 리스트(+ 불변 Recommendation 객체)를 공유하는 읽기 전용 값
+    //    → 원소를 고치거나 add/remove 하지 말고, 바꿀 때는 새 리스트를 만들어 set
+    @Convert(converter = KeywordListConverter.class)
+    @Column(name = "keywords_json", columnDefinition = "TEXT")
+    private List<String> keywords;
 
-    @Column(columnDefinition = "TEXT")
-    private String recommendationsJson;
+    @Convert(converter = RecommendationListConverter.class)
+    @Column(name = "recommendations_json", columnDefinition = "TEXT")
+    private List<AiResponseResponse.Recommendation> recommendations;
 
     @Column(columnDefinition = "TEXT")
     private String mergedSentence;
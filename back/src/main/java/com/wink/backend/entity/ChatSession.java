@@ -11,6 +11,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // 타입별 세션 목록 / 키셋 페이지 (type, start_time, id)
+        @Index(name = "idx_chat_session_type_start", columnList = "type, start_time, id"),
+        // 진행 중 세션 일괄 종료 (type, is_ended, end_time)
+        @Index(name = "idx_chat_session_type_ended", columnList = "type, is_ended, end_time")
+})
 public class ChatSession {
 
     @Id
@@ -0,0 +1,31 @@
+package com.wink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * Gemini 응답 캐시 영구 저장본 (gemini.cache.persistent=true 일 때만 사용)
+ * - cacheKey = operation + ":" + sha256(정규화된 프롬프트)
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "gemini_cache_entry")
+public class GeminiCacheEntry {
+
+    @Id
+    @Column(length = 100)
+    private String cacheKey;
+
+    private String operation;
+
+    @Column(columnDefinition = "TEXT")
+    private String text;
+
+    // 원래 호출에 걸린 시간 (캐시 적중 시 절약 시간으로 집계)
+    private Long latencyMs;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,29 @@
+package com.wink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 해시별 캡션 (AI 서버 캡셔닝 + Gemini 번역 결과)
+ * - 같은 사진을 다시 보내면 캡셔닝 / 번역을 건너뛰고 이 값을 사용
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "image_caption")
+public class ImageCaption {
+
+    @Id
+    @Column(length = 64)
+    private String imageHash;   // StoredImage.hash
+
+    @Column(columnDefinition = "TEXT")
+    private String englishCaption;
+
+    @Column(columnDefinition = "TEXT")
+    private String imageDescriptionKo;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
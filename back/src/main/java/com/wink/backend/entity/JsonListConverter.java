@@ -0,0 +1,65 @@
+package com.wink.backend.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.AttributeConverter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JSON 배열 TEXT 컬럼 ↔ List 공통 변환기
+ * - 같은 JSON 문자열은 한 번만 파싱 (문자열 → 파싱 결과 캐시, 저장할 때도 미리 넣어 둠)
+ * - 결과 리스트와 원소를 여러 엔티티가 공유하므로 리스트는 읽기 전용, 원소 타입 T는 불변이어야 함
+ *   (String, AiResponseResponse.Recommendation) - 가변 타입이면 한 메시지의 수정이 캐시와 다른 메시지로 번짐
+ * - 파싱 실패는 빈 리스트 + 경고 로그 (기존처럼 조용히 무시하지 않음)
+ */
+abstract class JsonListConverter<T> implements AttributeConverter<List<T>, String> {
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JavaType listType;
+    private final Cache<String, List<T>> parsed;
+
+    protected JsonListConverter(Class<T> elementType, long cacheSize) {
+        this.listType = MAPPER.getTypeFactory().constructCollectionType(List.class, elementType);
+        this.parsed = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    @Override
+    public String convertToDatabaseColumn(List<T> value) {
+        if (value == null) return null;
+        try {
+            String json = MAPPER.writeValueAsString(value);
+            parsed.put(json, readOnly(value));
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 변환 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<T> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) return null;
+        return parsed.get(json, this::parse);
+    }
+
+    private List<T> parse(String json) {
+        try {
+            List<T> list = MAPPER.readValue(json, listType);
+            return list != null ? readOnly(list) : List.of();
+        } catch (JsonProcessingException e) {
+            System.err.println("⚠️ JSON 컬럼 파싱 실패 (" + getClass().getSimpleName() + "): " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /** List.copyOf 는 null 원소("[null]")에서 NPE → null 허용 복사본 */
+    private static <T> List<T> readOnly(List<T> list) {
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+}
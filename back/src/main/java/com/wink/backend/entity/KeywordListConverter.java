@@ -0,0 +1,14 @@
+package com.wink.backend.entity;
+
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/** ChatMessage.keywords ↔ keywords_json (["..."]) */
+@Converter
+@Immutable
+public class KeywordListConverter extends JsonListConverter<String> {
+
+    public KeywordListConverter() {
+        super(String.class, 10_000);
+    }
+}
@@ -0,0 +1,29 @@
+package com.wink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 영어 키워드 → 한국어 감성 단어 번역 사전 (단어 단위)
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "keyword_translation")
+public class KeywordTranslation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 소문자 + trim 으로 정규화된 영어 단어
+    @Column(nullable = false, unique = true, length = 100)
+    private String englishWord;
+
+    @Column(nullable = false, length = 100)
+    private String korean;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,15 @@
+package com.wink.backend.entity;
+
+import com.wink.backend.dto.AiResponseResponse;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/** ChatMessage.recommendations ↔ recommendations_json ([{songId, title, ...}]) */
+@Converter
+@Immutable
+public class RecommendationListConverter extends JsonListConverter<AiResponseResponse.Recommendation> {
+
+    public RecommendationListConverter() {
+        super(AiResponseResponse.Recommendation.class, 5_000);
+    }
+}
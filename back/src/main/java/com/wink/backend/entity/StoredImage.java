@@ -0,0 +1,32 @@
+package com.wink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반 이미지 저장소 (uploads/chat-images/ab/cd/<sha256>.jpg)
+ * - 같은 사진은 한 번만 저장하고, ChatMessage.imageUrl 참조 수만 센다
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "stored_image")
+public class StoredImage {
+
+    @Id
+    @Column(length = 64)
+    private String hash;    // SHA-256 (hex)
+
+    // 업로드 폴더 기준 상대 경로 (= ChatMessage.imageUrl)
+    @Column(nullable = false)
+    private String path;
+
+    private Long sizeBytes;
+
+    // 이 이미지를 가리키는 메시지 수
+    private Integer refCount = 0;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
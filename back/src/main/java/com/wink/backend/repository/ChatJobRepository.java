@@ -0,0 +1,29 @@
+package com.wink.backend.repository;
+
+import com.wink.backend.entity.ChatJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChatJobRepository extends JpaRepository<ChatJob, String> {
+
+    Optional<ChatJob> findByIdempotencyKey(String idempotencyKey);
+
+    List<ChatJob> findByStatusIn(Collection<String> statuses);
+
+    // 실패한 작업 재시도: FAILED → PENDING 전환에 성공한 요청만 다시 실행
+    @Transactional
+    @Modifying
+    @Query("update ChatJob j set j.status = 'PENDING', j.error = null, j.updatedAt = :now " +
+           "where j.id = :id and j.status = 'FAILED'")
+    int resetFailed(@Param("id") String id, @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,15 @@
 package com.wink.backend.repository;
 
 import com.wink.backend.entity.ChatMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,5 +18,24 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     Optional<ChatMessage> findTopBySessionIdOrderByCreatedAtDesc(Long sessionId);
     List<ChatMessage> findByTextContainingIgnoreCase(String keyword);
     Optional<ChatMessage> findTopBySessionIdAndSenderOrderByCreatedAtDesc(Long sessionId, String sender);
+    boolean existsBySessionIdAndSenderAndIdGreaterThan(Long sessionId, String sender, Long id);
+
+    // 키셋 페이지 (createdAt, id 오름차순) — (session_id, created_at, id) 인덱스
+    List<ChatMessage> findBySessionIdOrderByCreatedAtAscIdAsc(Long sessionId, Limit limit);
+
+    @Query("""
+            select m from ChatMessage m
+            where m.session.id = :sessionId
+              and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id))
+            order by m.createdAt asc, m.id asc
+            """)
+    List<ChatMessage> findPageAfter(@Param("sessionId") Long sessionId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    // 업로드 정리용: 이미지 경로별 참조 메시지 수 [imageUrl, count]
+    @Query("select m.imageUrl, count(m) from ChatMessage m where m.imageUrl in :imageUrls group by m.imageUrl")
+    List<Object[]> countByImageUrlIn(@Param("imageUrls") Collection<String> imageUrls);
 }
 
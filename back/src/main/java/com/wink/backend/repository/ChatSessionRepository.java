@@ -1,9 +1,18 @@
 package com.wink.backend.repository;
 
 import com.wink.backend.entity.ChatSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 
@@ -23,4 +32,74 @@ public interface ChatSessionRepository extends JpaRepository<ChatSession, Long>
 
     List<ChatSession> findByTypeAndIsEndedTrueOrderByStartTimeDesc(String type);
 
+    /**
+     * 같은 타입의 진행 중 세션을 종료하고, 이번에 종료한 세션 id 를 반환
+     * - 진행 중 id 를 먼저 잠가서 읽고 → 그 id 만 UPDATE (같은 트랜잭션)
+     * - 동시에 시작한 요청은 잠금을 기다렸다가 빈 목록을 받음 → 같은 세션이 두 번 종료 이벤트로 나가지 않음
+     */
+    @Transactional
+    default List<Long> endOpenSessions(String type, LocalDateTime endTime) {
+        List<Long> ids = findOpenIdsForUpdate(type);
+        if (!ids.isEmpty()) {
+            endSessions(ids, endTime);
+        }
+        return ids;
+    }
+
+    // 진행 중 세션 id ((type, is_ended) 인덱스)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id from ChatSession s where s.type = :type and s.isEnded = false")
+    List<Long> findOpenIdsForUpdate(@Param("type") String type);
+
+    @Modifying
+    @Query("update ChatSession s set s.isEnded = true, s.endTime = :endTime where s.id in :ids")
+    int endSessions(@Param("ids") List<Long> ids, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 세션 목록 + 세션별 마지막 메시지를 쿼리 한 번으로 조회
+     * - 마지막 메시지 = 세션 안에서 id가 가장 큰 메시지 (저장 순서, session_id 인덱스로 처리)
+     * - Pageable.unpaged() 이면 전체
+     */
+    @Query(value = """
+            select s.id as sessionId, s.type as type, s.topic as topic, m.text as latestMessage,
+                   s.startTime as startTime, s.endTime as endTime, s.isEnded as ended
+            from ChatSession s
+            left join ChatMessage m
+                   on m.session = s
+                  and m.id = (select max(m2.id) from ChatMessage m2 where m2.session = s)
+            where s.type = :type
+            order by s.startTime desc, s.id desc
+            """)
+    List<SessionListItem> findSessionList(@Param("type") String type, Pageable pageable);
+
+    /**
+     * 키셋 페이지: (startTime, id) 가 커서보다 앞선(더 오래된) 세션부터 limit 개
+     * - (type, startTime, id) 인덱스를 타므로 뒤 페이지도 앞 페이지와 같은 비용
+     */
+    @Query("""
+            select s.id as sessionId, s.type as type, s.topic as topic, m.text as latestMessage,
+                   s.startTime as startTime, s.endTime as endTime, s.isEnded as ended
+            from ChatSession s
+            left join ChatMessage m
+                   on m.session = s
+                  and m.id = (select max(m2.id) from ChatMessage m2 where m2.session = s)
+            where s.type = :type
+              and (s.startTime < :startTime or (s.startTime = :startTime and s.id < :id))
+            order by s.startTime desc, s.id desc
+            """)
+    List<SessionListItem> findSessionListBefore(@Param("type") String type,
+                                                @Param("startTime") LocalDateTime startTime,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    interface SessionListItem {
+        Long getSessionId();
+        String getType();
+        String getTopic();
+        String getLatestMessage();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+        Boolean getEnded();
+    }
+
 }
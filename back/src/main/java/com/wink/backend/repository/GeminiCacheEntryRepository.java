@@ -0,0 +1,9 @@
+package com.wink.backend.repository;
+
+import com.wink.backend.entity.GeminiCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GeminiCacheEntryRepository extends JpaRepository<GeminiCacheEntry, String> {
+}
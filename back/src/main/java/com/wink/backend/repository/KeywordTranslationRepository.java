@@ -0,0 +1,9 @@
+package com.wink.backend.repository;
+
+import com.wink.backend.entity.KeywordTranslation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KeywordTranslationRepository extends JpaRepository<KeywordTranslation, Long> {
+}
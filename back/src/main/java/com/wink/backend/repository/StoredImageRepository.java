@@ -0,0 +1,30 @@
+package com.wink.backend.repository;
+
+import com.wink.backend.entity.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+
+    // 참조 수 증감은 한 번의 UPDATE로 (동시 업로드에도 값이 꼬이지 않게)
+    @Transactional
+    @Modifying
+    @Query("update StoredImage i set i.refCount = i.refCount + 1 where i.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query("update StoredImage i set i.refCount = i.refCount - 1 where i.hash = :hash and i.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash);
+
+    // 정리 작업에서 실제 메시지 수로 보정
+    @Transactional
+    @Modifying
+    @Query("update StoredImage i set i.refCount = :refCount where i.hash = :hash and i.refCount <> :refCount")
+    int updateRefCount(@Param("hash") String hash, @Param("refCount") int refCount);
+}
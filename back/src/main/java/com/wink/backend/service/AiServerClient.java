@@ -0,0 +1,305 @@
+package com.wink.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wink.backend.config.RestTemplateConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * AiServerClient
+ * - Flask 추천 서버(ai.server.url) 호출 전용
+ * - 공용 커넥션 풀(keep-alive) + 응답 타임아웃 + 서킷 브레이커 (CLOSED → OPEN → HALF_OPEN 시험 호출 1건)
+ *   · 실패로 세는 것: 5xx, 타임아웃 / 연결 오류, 빈 응답 (4xx 는 요청 문제라 그대로 던짐)
+ * - 서버 장애 시 바로 fallback:
+ *   ① 같은 세션의 마지막 성공 응답 ② 비슷한 입력(단어 겹침)으로 받은 최근 응답
+ */
+@Component
+public class AiServerClient {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private enum Permit { DENIED, CALL, PROBE }
+
+    private static final String FALLBACK_MESSAGE =
+            "AI 추천 서버가 잠시 응답하지 않아 비슷한 요청의 추천을 보여드려요.";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.server.url}")
+    private String aiServerUrl;
+
+    // 서킷 브레이커
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    // fallback 캐시
+    private final Cache<Long, String> lastBySession;
+    private final Deque<RecentResult> recent = new ArrayDeque<>();
+    private final int recentSize;
+    private final double minSimilarity;
+
+    public AiServerClient(MeterRegistry meterRegistry,
+                          CloseableHttpClient pooledHttpClient,
+                          @Value("${http.client.pool-timeout:2s}") Duration poolTimeout,
+                          @Value("${ai.server.read-timeout:30s}") Duration readTimeout,
+                          @Value("${ai.server.circuit.failure-threshold:5}") int failureThreshold,
+                          @Value("${ai.server.circuit.open-duration:30s}") Duration openDuration,
+                          @Value("${ai.server.fallback.session-cache-size:1000}") long sessionCacheSize,
+                          @Value("${ai.server.fallback.recent-size:200}") int recentSize,
+                          @Value("${ai.server.fallback.min-similarity:0.3}") double minSimilarity) {
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.recentSize = recentSize;
+        this.minSimilarity = minSimilarity;
+
+        // 🔥 공용 커넥션 풀 재사용 (이미지가 든 큰 POST)
+        //    풀 대기는 pool-timeout, 응답 대기는 read-timeout 까지만 → AI 서버가 멈춰도 요청 스레드는 풀려남
+        //    연속 실패가 failure-threshold 에 닿으면 서킷이 열리고 open-duration 동안 바로 fallback
+        this.restTemplate = RestTemplateConfig.pooledRestTemplate(pooledHttpClient, poolTimeout, readTimeout);
+
+        this.lastBySession = Caffeine.newBuilder()
+                .maximumSize(sessionCacheSize)
+                .expireAfterWrite(Duration.ofHours(6))
+                .build();
+
+        Gauge.builder("ai.server.circuit.state", this, c -> c.getState().ordinal())
+                .description("AI 서버 서킷 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        // OPEN 유지 시간이 지나면 시험 호출 허용 상태로 보임
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDuration.toNanos()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * 추천 요청 → 응답 본문(JSON)
+     * - 실패 / 서킷 OPEN 이면 fallback 본문, 그것도 없으면 RuntimeException
+     * - 4xx 는 서버 장애가 아니므로 서킷에 반영하지 않고 HttpClientErrorException 그대로 던짐
+     */
+    public String recommend(Long sessionId, String inputText, Map<String, Object> payload) {
+
+        Permit permit = tryAcquire();
+        if (permit == Permit.DENIED) {
+            count("short-circuited");
+            return fallback(sessionId, inputText, "circuit open");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(
+                    aiServerUrl, HttpMethod.POST, entity, String.class);
+
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                onFailure();
+                count("failure");
+                return fallback(sessionId, inputText, "AI Server Error: " + response.getStatusCode());
+            }
+
+            onSuccess();
+            count("success");
+            remember(sessionId, inputText, response.getBody());
+            return response.getBody();
+
+        } catch (HttpClientErrorException e) {
+            // 잘못된 요청 → 서버는 살아 있음
+            count("client-error");
+            throw e;
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            // 5xx / 타임아웃 / 연결 오류
+            onFailure();
+            count("failure");
+            return fallback(sessionId, inputText, e.getMessage());
+        } finally {
+            // 어떤 예외(Error 포함)로 끝나도 시험 호출 자리는 반납
+            if (permit == Permit.PROBE) releaseProbe();
+            sample.stop(meterRegistry.timer("ai.server.requests.latency"));
+        }
+    }
+
+    // =====================================================
+    // 서킷 브레이커
+    // =====================================================
+    private synchronized Permit tryAcquire() {
+        if (state == State.CLOSED) return Permit.CALL;
+
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDuration.toNanos()) return Permit.DENIED;
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+
+        // HALF_OPEN: 시험 호출은 한 번에 하나만
+        if (probeInFlight) return Permit.DENIED;
+        probeInFlight = true;
+        return Permit.PROBE;
+    }
+
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            System.out.println("✅ AI 서버 복구 → 서킷 CLOSED");
+        }
+        state = State.CLOSED;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                System.err.println("⚠️ AI 서버 연속 실패 " + consecutiveFailures + "회 → 서킷 OPEN");
+            }
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    // =====================================================
+    // fallback
+    // =====================================================
+    private void remember(Long sessionId, String inputText, String body) {
+        if (sessionId != null) {
+            lastBySession.put(sessionId, body);
+        }
+
+        Set<String> tokens = tokenize(inputText);
+        try {
+            // 응답 키워드도 비교 대상에 포함 (입력 문장이 짧아도 비슷한 요청을 찾을 수 있게)
+            for (JsonNode keyword : mapper.readTree(body).path("keywords")) {
+                tokens.addAll(tokenize(keyword.asText("")));
+            }
+        } catch (IOException ignored) {
+            // 파싱 실패해도 입력 문장 단어만으로 저장
+        }
+        if (tokens.isEmpty()) return;
+
+        synchronized (recent) {
+            recent.addFirst(new RecentResult(tokens, body));
+            while (recent.size() > recentSize) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    private String fallback(Long sessionId, String inputText, String reason) {
+        System.err.println("⚠️ AI 서버 호출 실패 (" + reason + ") → fallback 시도");
+
+        String body = sessionId != null ? lastBySession.getIfPresent(sessionId) : null;
+        String source = "session";
+
+        if (body == null) {
+            body = mostSimilar(tokenize(inputText));
+            source = "similar";
+        }
+
+        if (body == null) {
+            meterRegistry.counter("ai.server.fallbacks", "source", "none").increment();
+            throw new RuntimeException("AI Server Error: " + reason);
+        }
+
+        meterRegistry.counter("ai.server.fallbacks", "source", source).increment();
+        return withFallbackMessage(body, "similar".equals(source));
+    }
+
+    private String mostSimilar(Set<String> tokens) {
+        if (tokens.isEmpty()) return null;
+
+        String best = null;
+        double bestScore = minSimilarity;
+        synchronized (recent) {
+            for (RecentResult r : recent) {
+                double score = jaccard(tokens, r.tokens);
+                if (score >= bestScore) {
+                    best = r.body;
+                    bestScore = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    private String withFallbackMessage(String body, boolean fromOtherSession) {
+        try {
+            JsonNode root = mapper.readTree(body);
+            if (root instanceof ObjectNode node) {
+                node.put("aiMessage", FALLBACK_MESSAGE);
+                node.put("fallback", true); // 이번 요청으로 만든 응답이 아님 (캡션 캐시 등에 저장 X)
+                if (fromOtherSession) {
+                    // 다른 사용자의 문장 / 이미지 설명은 빼고 추천곡·키워드만 재사용
+                    node.remove(List.of("mergedSentence", "englishText", "englishCaption", "imageDescriptionKo"));
+                }
+                return mapper.writeValueAsString(node);
+            }
+        } catch (IOException ignored) {
+            // 원문 그대로 사용
+        }
+        return body;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("ai.server.requests", "result", result).increment();
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) return tokens;
+        for (String t : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (t.length() > 1) tokens.add(t);
+        }
+        return tokens;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        int common = 0;
+        for (String t : a) {
+            if (b.contains(t)) common++;
+        }
+        int union = a.size() + b.size() - common;
+        return union == 0 ? 0 : (double) common / union;
+    }
+
+    private static class RecentResult {
+        private final Set<String> tokens;
+        private final String body;
+
+        private RecentResult(Set<String> tokens, String body) {
+            this.tokens = tokens;
+            this.body = body;
+        }
+    }
+}
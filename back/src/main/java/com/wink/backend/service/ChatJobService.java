@@ -0,0 +1,322 @@
+package com.wink.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wink.backend.dto.*;
+import com.wink.backend.entity.ChatJob;
+import com.wink.backend.repository.ChatJobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ChatJobService
+ * - 채팅 턴을 비동기 작업으로 실행 (202 + jobId 즉시 반환 → 폴링 / SSE 구독)
+ * - 작업 상태는 chat_job 테이블에 저장
+ * - 같은 Idempotency-Key 재시도는 기존 작업을 그대로 돌려줘서
+ *   ChatMessage 중복 저장 / Gemini·AI 서버 중복 호출을 막는다.
+ * - 실패한 작업 재시도: 아무것도 저장되지 않았으면 처음부터,
+ *   사용자 메시지까지 저장됐으면 AI 단계만 다시 실행 (세션 / 메시지를 다시 만들지 않음)
+ */
+@Service
+public class ChatJobService {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private final ChatJobRepository jobRepo;
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper;
+    private final Executor chatJobExecutor;
+
+    // 완료 알림을 기다리는 SSE 구독자 (jobId → emitters)
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${chat.job.subscribe-timeout:120s}")
+    private Duration subscribeTimeout;
+
+    public ChatJobService(ChatJobRepository jobRepo,
+                          ChatService chatService,
+                          ObjectMapper objectMapper,
+                          @Qualifier("chatJobExecutor") Executor chatJobExecutor) {
+        this.jobRepo = jobRepo;
+        this.chatService = chatService;
+        this.objectMapper = objectMapper;
+        this.chatJobExecutor = chatJobExecutor;
+    }
+
+    // =====================================================
+    // 작업 제출
+    // =====================================================
+    public ChatJobResponse submitStartMy(String idempotencyKey, ChatStartMyRequest req) {
+        return submit(idempotencyKey, "START_MY", req.getImageBase64(), listener -> chatService.startMy(req, listener));
+    }
+
+    public ChatJobResponse submitStartSpace(String idempotencyKey, ChatStartSpaceRequest req) {
+        return submit(idempotencyKey, "START_SPACE", req.getImageBase64(), listener -> chatService.startSpace(req, listener));
+    }
+
+    public ChatJobResponse submitMessage(String idempotencyKey, ChatMessageRequest req) {
+        return submit(idempotencyKey, "MESSAGE", req.getImageBase64(), listener -> chatService.sendUserMessage(req, listener));
+    }
+
+    /**
+     * @param upload 요청 이미지 임시 파일 - 턴을 실행하지 않는 경로(재요청 / 중복 / 대기열 초과)에서는 여기서 삭제
+     */
+    private ChatJobResponse submit(String idempotencyKey, String type, ImageUpload upload,
+                                   Function<ChatStageListener, ChatHistoryResponse> turn) {
+
+        // 키가 없으면 매 요청을 새 작업으로 취급
+        String key = (idempotencyKey == null || idempotencyKey.isBlank())
+                ? UUID.randomUUID().toString() : idempotencyKey.trim();
+
+        ChatJob existing = jobRepo.findByIdempotencyKey(key).orElse(null);
+        if (existing != null) {
+            // 같은 키를 다른 종류의 요청에 재사용 → 엉뚱한 작업을 돌려주지 않음
+            if (!type.equals(existing.getType())) {
+                discard(upload);
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Idempotency-Key가 다른 요청(" + existing.getType() + ")에 이미 사용되었습니다.");
+            }
+            // 진행 중이거나 완료된 작업 → 다시 실행하지 않음
+            if (!FAILED.equals(existing.getStatus())) {
+                discard(upload);
+                return toResponse(existing);
+            }
+            // 실패한 작업 → 같은 키로 재시도 허용 (동시 재시도 중 하나만 실행)
+            Function<ChatStageListener, ChatHistoryResponse> retry = turn;
+            if (existing.getUserMessageId() != null) {
+                // 사용자 메시지는 이미 저장됨 (이미지 포함) → AI 단계만 이어서 실행
+                discard(upload);
+                upload = null;
+                Long userMessageId = existing.getUserMessageId();
+                retry = listener -> chatService.resumeAiTurn(userMessageId, listener);
+            } else if (!"MESSAGE".equals(type) && existing.getSessionId() != null) {
+                // 세션만 만들어지고 메시지는 저장 전에 중단 → 다시 실행하면 세션이 하나 더 생김
+                discard(upload);
+                ChatJob failed = update(existing.getId(), j -> j.setError(
+                        "세션 생성 직후 중단되어 이어서 실행할 수 없습니다. 새 Idempotency-Key로 다시 요청해주세요."));
+                return toResponse(failed != null ? failed : existing);
+            }
+
+            if (jobRepo.resetFailed(existing.getId(), LocalDateTime.now()) == 1) {
+                dispatch(existing.getId(), upload, retry);
+            } else {
+                discard(upload);
+            }
+            return toResponse(jobRepo.findById(existing.getId()).orElse(existing));
+        }
+
+        ChatJob job = new ChatJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setIdempotencyKey(key);
+        job.setType(type);
+        job.setStatus(PENDING);
+
+        try {
+            jobRepo.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 키로 동시에 들어온 요청 → 먼저 저장된 작업을 돌려줌
+            discard(upload);
+            return jobRepo.findByIdempotencyKey(key)
+                    .map(this::toResponse)
+                    .orElseThrow(() -> e);
+        }
+
+        dispatch(job.getId(), upload, turn);
+        return toResponse(jobRepo.findById(job.getId()).orElse(job));
+    }
+
+    private void dispatch(String jobId, ImageUpload upload, Function<ChatStageListener, ChatHistoryResponse> turn) {
+        try {
+            chatJobExecutor.execute(() -> run(jobId, turn));
+        } catch (TaskRejectedException e) {
+            // 작업 대기열이 가득 참 → 실패로 기록 (같은 키로 재시도 가능)
+            discard(upload);
+            finish(jobId, FAILED, null, "작업 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private static void discard(ImageUpload upload) {
+        if (upload != null) upload.discard();
+    }
+
+    private void run(String jobId, Function<ChatStageListener, ChatHistoryResponse> turn) {
+        update(jobId, job -> job.setStatus(RUNNING));
+
+        // 세션 / 사용자 메시지가 저장되는 즉시 기록 (폴링 중에도 확인 가능, 재시도 때 어디서부터 할지 판단)
+        ChatStageListener listener = (stage, data) -> {
+            if (!(data instanceof Map<?, ?> event)) return;
+            if (ChatStageListener.SESSION.equals(stage) && event.get("sessionId") instanceof Long sessionId) {
+                update(jobId, job -> job.setSessionId(sessionId));
+            } else if (ChatStageListener.USER_MESSAGE.equals(stage) && event.get("messageId") instanceof Long messageId) {
+                update(jobId, job -> job.setUserMessageId(messageId));
+            }
+        };
+
+        try {
+            ChatHistoryResponse history = turn.apply(listener);
+            finish(jobId, DONE, history, null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            finish(jobId, FAILED, null, e.getMessage());
+        }
+    }
+
+    private void finish(String jobId, String status, ChatHistoryResponse history, String error) {
+        ChatJob job = update(jobId, j -> {
+            j.setStatus(status);
+            j.setError(error);
+            if (history != null) {
+                j.setSessionId(history.getSessionId());
+                try {
+                    j.setResultJson(objectMapper.writeValueAsString(history));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+        if (job != null) {
+            notifySubscribers(job);
+        }
+    }
+
+    private ChatJob update(String jobId, Consumer<ChatJob> change) {
+        ChatJob job = jobRepo.findById(jobId).orElse(null);
+        if (job == null) return null;
+        change.accept(job);
+        job.setUpdatedAt(LocalDateTime.now());
+        return jobRepo.save(job);
+    }
+
+    // =====================================================
+    // 조회 / 구독
+    // =====================================================
+    public ChatJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /** 작업 완료 시 "complete" 이벤트 한 번 보내고 종료 */
+    public SseEmitter subscribe(String jobId) {
+        ChatJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(subscribeTimeout.toMillis());
+
+        // 이미 끝난 작업 → 등록하지 않고 바로 전송
+        if (isFinished(job)) {
+            send(emitter, job);
+            return emitter;
+        }
+
+        subscribers.compute(jobId, (k, list) -> {
+            List<SseEmitter> emitters = list != null ? list : new CopyOnWriteArrayList<>();
+            emitters.add(emitter);
+            return emitters;
+        });
+        emitter.onCompletion(() -> unsubscribe(jobId, emitter));
+        emitter.onTimeout(() -> unsubscribe(jobId, emitter));
+
+        // 확인과 등록 사이에 끝났으면 notifySubscribers 가 이 emitter 를 못 봤을 수 있음
+        // → 목록에서 직접 빼낸 경우에만 전송 (notify 가 가져갔으면 그쪽에서 한 번만 전송)
+        ChatJob latest = jobRepo.findById(jobId).orElse(job);
+        if (isFinished(latest) && unsubscribe(jobId, emitter)) {
+            send(emitter, latest);
+        }
+        return emitter;
+    }
+
+    /** @return 목록에서 이 emitter 를 뺐으면 true (빈 목록은 맵에서 제거) */
+    private boolean unsubscribe(String jobId, SseEmitter emitter) {
+        boolean[] removed = {false};
+        subscribers.computeIfPresent(jobId, (k, list) -> {
+            removed[0] = list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+        return removed[0];
+    }
+
+    private void notifySubscribers(ChatJob job) {
+        List<SseEmitter> list = subscribers.remove(job.getId());
+        if (list == null) return;
+        for (SseEmitter emitter : list) {
+            send(emitter, job);
+        }
+    }
+
+    private ChatJob findJob(String jobId) {
+        return jobRepo.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + jobId));
+    }
+
+    private static boolean isFinished(ChatJob job) {
+        return DONE.equals(job.getStatus()) || FAILED.equals(job.getStatus());
+    }
+
+    private void send(SseEmitter emitter, ChatJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(ChatStageListener.COMPLETE)
+                    .data(toResponse(job), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    // =====================================================
+    // 서버 재시작 시 중단된 작업 정리
+    //  - 요청 본문(이미지 포함)은 저장하지 않으므로 FAILED 처리 → 같은 키로 재시도
+    //    (사용자 메시지가 이미 저장된 작업은 재시도 때 AI 단계만 실행)
+    // =====================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        for (ChatJob job : jobRepo.findByStatusIn(Set.of(PENDING, RUNNING))) {
+            job.setStatus(FAILED);
+            job.setError("서버 재시작으로 작업이 중단되었습니다. 같은 키로 다시 요청해주세요.");
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepo.save(job);
+        }
+    }
+
+    private ChatJobResponse toResponse(ChatJob job) {
+        ChatHistoryResponse result = null;
+        if (DONE.equals(job.getStatus()) && job.getResultJson() != null) {
+            try {
+                result = objectMapper.readValue(job.getResultJson(), ChatHistoryResponse.class);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return ChatJobResponse.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .sessionId(job.getSessionId())
+                .result(result)
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
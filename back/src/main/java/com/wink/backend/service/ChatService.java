@@ -4,17 +4,33 @@ package com.wink.backend.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wink.backend.dto.*;
+import com.wink.backend.entity.AiRecommendation;
 import com.wink.backend.entity.ChatMessage;
 import com.wink.backend.entity.ChatSession;
+import com.wink.backend.entity.ImageCaption;
 import com.wink.backend.repository.ChatMessageRepository;
 import com.wink.backend.repository.ChatSessionRepository;
+import com.wink.backend.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class ChatService {
@@ -22,39 +38,73 @@ public class ChatService {
     private final ChatSessionRepository sessionRepo;
     private final GeminiService geminiService;
     private final ChatMessageRepository messageRepo;
-    private final RestTemplate restTemplate;
+    private final AiServerClient aiServerClient;
     private final ObjectMapper mapper = new ObjectMapper();
     private final ImageService imageService;
+    private final ImageProcessingService imageProcessingService;
+    private final ImageCaptionCache imageCaptionCache;
     private final LocationService locationService;
+    private final Executor enrichmentExecutor;
+    private final Executor chatPipelineExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionSummaryService sessionSummaryService;
 
 
-    @Value("${ai.server.url}")
-    private String aiServerUrl;
+    private static final String SPACE_DEFAULT_TOPIC = "오늘의 공간 감성 음악";
+
+    // AI 서버로 이미지 전달 방식: reference = 저장된 파일 경로, inline = Base64 그대로
+    @Value("${ai.server.image-mode:reference}")
+    private String imageMode;
+
+    // AI 서버가 경로를 읽지 못함(422) → 이후로는 inline 전달
+    private volatile boolean imagePathUnreadable;
+
+    // AI 응답 후처리(해석/번역/키워드) 병렬 실행 여부 + 전체 마감 시간
+    @Value("${chat.enrichment.parallel:true}")
+    private boolean parallelEnrichment;
+
+    @Value("${chat.enrichment.deadline:15s}")
+    private Duration enrichmentDeadline;
 
     public ChatService(ChatSessionRepository sessionRepo,
                     GeminiService geminiService,
                     ChatMessageRepository messageRepo,
                     ImageService imageService,
-                    LocationService locationService) {
+                    ImageProcessingService imageProcessingService,
+                    ImageCaptionCache imageCaptionCache,
+                    LocationService locationService,
+                    AiServerClient aiServerClient,
+                    @Qualifier("enrichmentExecutor") Executor enrichmentExecutor,
+                    @Qualifier("chatPipelineExecutor") Executor chatPipelineExecutor,
+                    MeterRegistry meterRegistry,
+                    ApplicationEventPublisher eventPublisher,
+                    SessionSummaryService sessionSummaryService) {
         this.sessionRepo = sessionRepo;
         this.geminiService = geminiService;
         this.messageRepo = messageRepo;
         this.imageService = imageService;
+        this.imageProcessingService = imageProcessingService;
+        this.imageCaptionCache = imageCaptionCache;
         this.locationService = locationService;
-        this.restTemplate = new RestTemplate();
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.chatPipelineExecutor = chatPipelineExecutor;
+        this.meterRegistry = meterRegistry;
+        this.aiServerClient = aiServerClient;
+        this.eventPublisher = eventPublisher;
+        this.sessionSummaryService = sessionSummaryService;
     }
 
     // =====================================================
     // 🚀 공통: 이전 세션 종료 (같은 타입만)
     // =====================================================
     private void endPreviousSessions(String type) {
-        List<ChatSession> sessions = sessionRepo.findByTypeOrderByStartTimeDesc(type);
-        for (ChatSession s : sessions) {
-            if (!Boolean.TRUE.equals(s.getIsEnded())) {
-                s.setIsEnded(true);
-                s.setEndTime(LocalDateTime.now());
-                sessionRepo.save(s);
-            }
+        LocalDateTime now = LocalDateTime.now();
+
+        // 이번에 종료된 세션만 → 종료 후 작업(요약 등)
+        List<Long> endedIds = sessionRepo.endOpenSessions(type, now);
+        if (!endedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ChatSessionEndedEvent(type, endedIds, now));
         }
     }
 
@@ -63,6 +113,10 @@ public class ChatService {
     // =====================================================
     // 반환 타입: AiResponseResponse
     public ChatHistoryResponse startMy(ChatStartMyRequest req) {
+        return startMy(req, ChatStageListener.NONE);
+    }
+
+    public ChatHistoryResponse startMy(ChatStartMyRequest req, ChatStageListener listener) {
 
         endPreviousSessions("MY"); // 같은 타입 모두 종료
 
@@ -71,39 +125,21 @@ public class ChatService {
         session.setStartTime(LocalDateTime.now());
         session.setIsEnded(false);
 
-        // 🔥 제미나이 기반 주제 생성
-        String topic = geminiService.extractTopic(req.getInputText());
-        session.setTopic(topic);
-
-        sessionRepo.save(session); // 세션 저장
-
-        // 1. 첫 사용자 메시지 저장 (텍스트 + 이미지)
+        // 1. 첫 사용자 메시지 (텍스트 + 이미지)
         ChatMessage userMsg = new ChatMessage();
-        userMsg.setSession(session);
         userMsg.setSender("user");
         userMsg.setText(req.getInputText());
-        if (req.getImageBase64() != null && !req.getImageBase64().isBlank()) {
-            try {
-                String fileName = imageService.saveBase64Image(req.getImageBase64());
-                userMsg.setImageUrl(fileName);
-            } catch (IOException e) {
-                e.printStackTrace();
-                userMsg.setImageUrl(null);
-            }
-        }
-        messageRepo.save(userMsg); // 채팅 내용 저장 완료
 
         // 2. AI 응답 생성 요청 (이미지도 함께 전달)
         AiResponseRequest aiReq = new AiResponseRequest();
-        aiReq.setSessionId(session.getId());
         aiReq.setInputText(req.getInputText());
-        aiReq.setImageBase64(req.getImageBase64());
         aiReq.setLocation(null);       // MY에는 절대 보내지 않음
         aiReq.setNearbyMusic(null);
 
-        // 3. AI 응답을 받아 바로 반환
-        generateAiResponse(aiReq);
-        return getChatFullHistory(session.getId());
+        // 🔥 제미나이 주제 생성은 AI 요청과 동시에 진행
+        return startPipelined(session, req.getInputText(),
+                geminiService.fallbackTopic(req.getInputText()),
+                userMsg, req.getImageBase64(), aiReq, listener);
     }
 
     // =====================================================
@@ -111,6 +147,10 @@ public class ChatService {
     // =====================================================
     // 반환 타입: AiResponseResponse
     public ChatHistoryResponse startSpace(ChatStartSpaceRequest req) {
+        return startSpace(req, ChatStageListener.NONE);
+    }
+
+    public ChatHistoryResponse startSpace(ChatStartSpaceRequest req, ChatStageListener listener) {
 
         endPreviousSessions("SPACE"); // 같은 타입 모두 종료
 
@@ -150,45 +190,16 @@ public class ChatService {
                 nearbySummary.isBlank() ? "정보 없음" : nearbySummary
         );
 
-        String topic;
-        try {
-            topic = geminiService.extractTopic(prompt);
-
-            // 혹시라도 응답이 빈 문자열이면 대체
-            if (topic == null || topic.isBlank()) {
-                topic = "오늘의 공간 감성 음악";
-            }
-        } catch (Exception e) {
-            topic = "오늘의 공간 감성 음악";
-        }
-
-        session.setTopic(topic);
-        sessionRepo.save(session);
-
-        // 첫 메시지 저장
+        // 첫 메시지
         String initialText = loc.getPlaceName() + "에 왔습니다.";
         ChatMessage userMsg = new ChatMessage();
-        userMsg.setSession(session);
         userMsg.setSender("user");
         userMsg.setText(initialText);
 
-        if (req.getImageBase64() != null && !req.getImageBase64().isBlank()) {
-            try {
-                String fileName = imageService.saveBase64Image(req.getImageBase64());
-                userMsg.setImageUrl(fileName);
-            } catch (IOException e) {
-                userMsg.setImageUrl(null);
-            }
-        }
-
-        messageRepo.save(userMsg);
-
 
         // ----- AI 요청 -----
         AiResponseRequest aiReq = new AiResponseRequest();
-        aiReq.setSessionId(session.getId());
         aiReq.setInputText(initialText);
-        aiReq.setImageBase64(req.getImageBase64());
 
 
         // ---------- 고정 Location ----------
@@ -204,17 +215,127 @@ public class ChatService {
         aiReq.setNearbyMusic(locationService.getFixedNearbyMusic());
 
 
-        // 3. AI 응답 생성
-        generateAiResponse(aiReq);
+        // 주제 생성 / 이미지 저장 / AI 응답 생성 동시 진행 → 전체 메시지 구조로 반환
+        return startPipelined(session, prompt, SPACE_DEFAULT_TOPIC,
+                userMsg, req.getImageBase64(), aiReq, listener);
+    }
 
-        // 4. 전체 메시지 구조(ChatHistoryResponse)로 반환
-        return getChatFullHistory(session.getId());    
+    // =====================================================
+    // ②-1 공통: 세션 시작 파이프라인
+    //  - 세션은 임시 주제로 먼저 저장 (AI 요청에 sessionId가 필요)
+    //  - 주제 생성(Gemini)과 [이미지 저장 → 사용자 메시지 저장 → 축소본 생성]을 동시에 진행
+    //  - AI 서버 요청은 두 쪽이 모두 끝난 뒤 (payload의 topic이 임시 주제가 되지 않도록)
+    // =====================================================
+    private ChatHistoryResponse startPipelined(ChatSession session,
+                                               String topicPrompt,
+                                               String provisionalTopic,
+                                               ChatMessage userMsg,
+                                               ImageUpload image,
+                                               AiResponseRequest aiReq,
+                                               ChatStageListener listener) {
+
+        session.setTopic(provisionalTopic);
+        sessionRepo.save(session);
+        emitSession(listener, session);
+
+        userMsg.setSession(session);
+        aiReq.setSessionId(session.getId());
+
+        // 주제 반영 (혹시라도 응답이 빈 문자열이면 임시 주제 유지)
+        CompletableFuture<String> topicF = CompletableFuture
+                .supplyAsync(() -> geminiService.extractTopic(topicPrompt), chatPipelineExecutor)
+                .exceptionally(e -> provisionalTopic)
+                .thenApply(topic -> {
+                    if (topic != null && !topic.isBlank() && !topic.equals(provisionalTopic)) {
+                        session.setTopic(topic);
+                        sessionRepo.save(session);
+                        return topic;
+                    }
+                    return provisionalTopic;
+                });
+        topicF.thenAccept(topic -> {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("sessionId", session.getId());
+            event.put("topic", topic);
+            listener.onStage(ChatStageListener.TOPIC, event);
+        });
+
+        // 이미지 저장 → 사용자 메시지 저장 → AI 요청
+        //  - AI 응답이 사용자 메시지보다 먼저 저장되면 대화 순서(createdAt)가 뒤집힘
+        CompletableFuture<String> savedF = CompletableFuture
+                .supplyAsync(() -> saveImageQuietly(image), chatPipelineExecutor)
+                .thenApply(imageUrl -> {
+                    userMsg.setImageUrl(imageUrl);
+                    saveUserMessage(userMsg); // 채팅 내용 저장 완료
+                    emitUserMessage(listener, userMsg);
+                    return imageUrl;
+                });
+
+        // 저장된 이미지 파일을 AI 서버로 넘기므로 축소본 생성 뒤 AI 요청 (이미지 없으면 바로)
+        //  - generateAiResponse 가 세션을 다시 읽어 topic을 보내므로 주제 저장까지 함께 대기
+        CompletableFuture<AiResponseResponse> aiF = savedF
+                .thenCompose(imageProcessingService::prepare)
+                .thenCombineAsync(topicF, (fileName, topic) -> {
+                    aiReq.setImageFileName(fileName);
+                    return generateAiResponse(aiReq, listener);
+                }, chatPipelineExecutor);
+
+        savedF.join();
+
+        // AI 응답 저장까지 대기
+        aiF.join();
+
+        return getChatFullHistory(session.getId());
+    }
+
+    private void emitSession(ChatStageListener listener, ChatSession session) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("sessionId", session.getId());
+        event.put("type", session.getType());
+        event.put("topic", session.getTopic());
+        listener.onStage(ChatStageListener.SESSION, event);
+    }
+
+    private void emitUserMessage(ChatStageListener listener, ChatMessage userMsg) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("sessionId", userMsg.getSession().getId());
+        event.put("messageId", userMsg.getId());
+        listener.onStage(ChatStageListener.USER_MESSAGE, event);
+    }
+
+    private boolean imageByReference() {
+        return !imagePathUnreadable && "reference".equalsIgnoreCase(imageMode);
+    }
+
+    /** 사용자 메시지 저장 - 실패하면 방금 올린 이미지 참조 수를 되돌림 */
+    private void saveUserMessage(ChatMessage userMsg) {
+        try {
+            messageRepo.save(userMsg);
+        } catch (RuntimeException e) {
+            imageService.releaseReference(userMsg.getImageUrl());
+            throw e;
+        }
+    }
+
+    private String saveImageQuietly(ImageUpload image) {
+        if (image == null) return null;
+        try {
+            return imageService.saveUpload(image);
+        } catch (Exception e) {
+            e.printStackTrace();
+            image.discard();
+            return null;
+        }
     }
 
     // =====================================================
     // ③ AI 응답 생성 (AI 메시지 저장)
     // =====================================================
     public AiResponseResponse generateAiResponse(AiResponseRequest req) {
+        return generateAiResponse(req, ChatStageListener.NONE);
+    }
+
+    public AiResponseResponse generateAiResponse(AiResponseRequest req, ChatStageListener listener) {
         try {
             Long sessionId = req.getSessionId();
             ChatSession session = sessionRepo.findById(sessionId)
@@ -227,7 +348,35 @@ public class ChatService {
             payload.put("sessionId", sessionId);
             payload.put("topic", topic);
             payload.put("inputText", req.getInputText());
-            payload.put("imageBase64", req.getImageBase64());
+
+            // 저장된 이미지의 분석용 축소본 (없으면 요청으로 직접 받은 임시 파일)
+            Path imageFile = req.getImageFileName() != null
+                    ? imageProcessingService.analysisFile(req.getImageFileName())
+                    : req.getImageBase64() != null ? req.getImageBase64().getFile() : null;
+
+            // 같은 사진을 이미 캡셔닝했으면 결과 재사용 (MY만, SPACE는 AI 서버가 이미지를 쓰지 않음)
+            String imageHash = null;
+            ImageCaption cachedCaption = null;
+            if (imageFile != null && "MY".equals(session.getType())) {
+                imageHash = req.getImageFileName() != null
+                        ? ImageService.contentHash(req.getImageFileName())
+                        : req.getImageBase64().getSha256();
+                cachedCaption = imageHash != null ? imageCaptionCache.get(imageHash) : null;
+            }
+
+            if (cachedCaption != null) {
+                // 🔥 이미지 대신 캡션만 전달 → AI 서버 캡셔닝 생략
+                payload.put("imageCaption", cachedCaption.getEnglishCaption());
+                payload.put("imageBase64", null);
+            } else if (imageFile == null) {
+                payload.put("imageBase64", null);
+            } else if (imageByReference()) {
+                // 🔥 이미 디스크에 있는 이미지 → 경로만 전달 (Base64 재직렬화 X)
+                payload.put("imagePath", imageFile.toString());
+                payload.put("imageBase64", null);
+            } else {
+                payload.put("imageBase64", imageService.toDataUrl(imageFile));
+            }
             if ("SPACE".equals(session.getType())) {
                 payload.put("location", req.getLocation());
                 payload.put("nearbyMusic", req.getNearbyMusic());
@@ -237,51 +386,51 @@ public class ChatService {
                 payload.put("nearbyMusic", null);
             }
 
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    aiServerUrl, HttpMethod.POST, entity, String.class);
-
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new RuntimeException("AI Server Error");
+            // 타임아웃 + 서킷 브레이커 (장애 시 이전 추천으로 fallback)
+            String body;
+            try {
+                body = aiServerClient.recommend(sessionId, req.getInputText(), payload);
+            } catch (HttpClientErrorException.UnprocessableEntity e) {
+                if (payload.get("imagePath") == null) throw e;
+
+                // AI 서버가 다른 호스트 / 컨테이너라 경로를 못 읽음 → 이번 요청은 Base64로 다시, 이후는 inline
+                imagePathUnreadable = true;
+                meterRegistry.counter("ai.server.image.inline-retry").increment();
+                System.err.println("⚠️ AI 서버가 imagePath를 읽지 못함 → Base64 전달로 전환 (ai.server.image-mode=inline 권장)");
+                payload.remove("imagePath");
+                payload.put("imageBase64", imageService.toDataUrl(imageFile));
+                body = aiServerClient.recommend(sessionId, req.getInputText(), payload);
             }
 
-            JsonNode root = mapper.readTree(response.getBody());
+            JsonNode root = mapper.readTree(body);
 
             // -----------------------------
             // 1) 텍스트 관련 필드 파싱
             // -----------------------------
             String mergedSentence = root.path("mergedSentence").asText("");
-            String interpretedSentence = geminiService.interpretMergedSentence(mergedSentence);
 
             // 새로 추가: english_text / english_caption
             String englishText = root.path("englishText").asText(null);
             String englishCaption = root.path("englishCaption").asText(null);
 
             // 이미지 설명 한국어 버전 (최우선: AI가 직접 준 imageDescriptionKo, 없으면 Gemini 번역)
-            String imageDescriptionKo = null;
+            String providedDescriptionKo = null;
             if (root.hasNonNull("imageDescriptionKo")
                     && !root.path("imageDescriptionKo").asText("").isBlank()) {
-                imageDescriptionKo = root.path("imageDescriptionKo").asText();
-            } else if (englishCaption != null && !englishCaption.isBlank()) {
-                try {
-                    // GeminiService에 translateToKorean(String text) 메서드가 있다고 가정
-                    imageDescriptionKo = geminiService.translateToKorean(englishCaption);
-                } catch (Exception e) {
-                    // 번역 실패 시에도 전체 흐름이 죽지 않도록 로그만 찍고 null 유지
-                    e.printStackTrace();
-                }
+                providedDescriptionKo = root.path("imageDescriptionKo").asText();
+            }
+
+            // 캐시 적중 → 캡션 / 번역 모두 캐시 값 사용 (Gemini 번역 생략)
+            if (cachedCaption != null) {
+                englishCaption = cachedCaption.getEnglishCaption();
+                providedDescriptionKo = cachedCaption.getImageDescriptionKo();
             }
 
-            // 키워드 파싱 + 한국어 번역
-            List<String> keywords = mapper.convertValue(
+            // 키워드 파싱
+            List<String> rawKeywords = mapper.convertValue(
                     root.path("keywords"),
                     mapper.getTypeFactory().constructCollectionType(List.class, String.class)
             );
-            keywords = geminiService.translateKeywords(keywords);
 
             // -----------------------------
             // 2) 추천곡 목록 파싱
@@ -321,6 +470,27 @@ public class ChatService {
 
             String aiMessage = root.path("aiMessage").asText("AI 추천 결과입니다.");
 
+            // 추천곡은 Gemini 후처리를 기다리지 않고 바로 전달 (스트리밍)
+            Map<String, Object> recommendationEvent = new LinkedHashMap<>();
+            recommendationEvent.put("sessionId", sessionId);
+            recommendationEvent.put("aiMessage", aiMessage);
+            recommendationEvent.put("recommendations", recs);
+            listener.onStage(ChatStageListener.RECOMMENDATIONS, recommendationEvent);
+
+            // 해석 / 캡션 번역 / 키워드 번역 (서로 독립 → 병렬)
+            Enrichment enrichment = enrich(mergedSentence, englishCaption, providedDescriptionKo, rawKeywords, listener);
+            String interpretedSentence = enrichment.interpretedSentence;
+            String imageDescriptionKo = enrichment.imageDescriptionKo;
+            List<String> keywords = enrichment.keywords;
+
+            // 처음 본 사진이면 캡션 저장 (번역 실패로 영어가 그대로 온 경우는 저장 X)
+            if (imageHash != null && cachedCaption == null && !root.path("fallback").asBoolean(false)
+                    && englishCaption != null && !englishCaption.isBlank()
+                    && imageDescriptionKo != null && !imageDescriptionKo.isBlank()
+                    && !imageDescriptionKo.equals(englishCaption)) {
+                imageCaptionCache.put(imageHash, englishCaption, imageDescriptionKo);
+            }
+
             // -----------------------------
             // 3) AI 메시지 DB에 저장
             // -----------------------------
@@ -328,8 +498,8 @@ public class ChatService {
             aiMsg.setSession(session);
             aiMsg.setSender("ai");
             aiMsg.setText(aiMessage);
-            aiMsg.setKeywordsJson(mapper.writeValueAsString(keywords));
-            aiMsg.setRecommendationsJson(mapper.writeValueAsString(recs));
+            aiMsg.setKeywords(keywords);
+            aiMsg.setRecommendations(recs);
             aiMsg.setMergedSentence(mergedSentence);
             aiMsg.setInterpretedSentence(interpretedSentence);
             aiMsg.setEnglishText(englishText);
@@ -345,7 +515,6 @@ public class ChatService {
                             .sessionId(sessionId)
                             .topic(topic)
                             .inputText(req.getInputText())
-                            .imageBase64(req.getImageBase64())
                             .keywords(keywords)
                             .aiMessage(aiMessage)
                             .mergedSentence(mergedSentence)
@@ -380,6 +549,10 @@ public class ChatService {
 
         } catch (Exception e) {
             e.printStackTrace();
+            Map<String, Object> errorEvent = new LinkedHashMap<>();
+            errorEvent.put("sessionId", req.getSessionId());
+            errorEvent.put("message", "AI 추천 서버와 통신 중 오류가 발생했습니다.");
+            listener.onStage(ChatStageListener.ERROR, errorEvent);
             return AiResponseResponse.builder()
                     .sessionId(req.getSessionId())
                     .topic("추천 생성 실패")
@@ -393,10 +566,137 @@ public class ChatService {
                     .recommendations(List.of())
                     .timestamp(LocalDateTime.now())
                     .build();
+        } finally {
+            // 요청으로 직접 받은 이미지(저장 안 함)는 AI 호출 후 정리
+            if (req.getImageBase64() != null) {
+                req.getImageBase64().discard();
+            }
         }
     }
 
 
+    // =====================================================
+    // ③-1 AI 응답 후처리 (Gemini 해석 / 캡션 번역 / 키워드 번역)
+    // =====================================================
+    private static class Enrichment {
+        private final String interpretedSentence;
+        private final String imageDescriptionKo;
+        private final List<String> keywords;
+
+        private Enrichment(String interpretedSentence, String imageDescriptionKo, List<String> keywords) {
+            this.interpretedSentence = interpretedSentence;
+            this.imageDescriptionKo = imageDescriptionKo;
+            this.keywords = keywords;
+        }
+    }
+
+    private Enrichment enrich(String mergedSentence, String englishCaption,
+                              String providedDescriptionKo, List<String> rawKeywords,
+                              ChatStageListener listener) {
+        long start = System.nanoTime();
+        try {
+            return parallelEnrichment
+                    ? enrichParallel(mergedSentence, englishCaption, providedDescriptionKo, rawKeywords, listener)
+                    : enrichSequential(mergedSentence, englishCaption, providedDescriptionKo, rawKeywords, listener);
+        } finally {
+            // 병렬/순차 모드별 단계 지연시간 (before/after 비교용)
+            Timer.builder("chat.enrichment.latency")
+                    .description("AI 응답 후처리 단계 전체 지연시간")
+                    .tag("mode", parallelEnrichment ? "parallel" : "sequential")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Enrichment enrichSequential(String mergedSentence, String englishCaption,
+                                        String providedDescriptionKo, List<String> rawKeywords,
+                                        ChatStageListener listener) {
+        String interpretedSentence = geminiService.interpretMergedSentence(mergedSentence);
+        emitInterpreted(listener, mergedSentence, interpretedSentence);
+
+        String imageDescriptionKo = providedDescriptionKo;
+        if (imageDescriptionKo == null && englishCaption != null && !englishCaption.isBlank()) {
+            try {
+                imageDescriptionKo = geminiService.translateToKorean(englishCaption);
+            } catch (Exception e) {
+                // 번역 실패 시에도 전체 흐름이 죽지 않도록 로그만 찍고 null 유지
+                e.printStackTrace();
+            }
+        }
+        emitImageDescription(listener, englishCaption, imageDescriptionKo);
+
+        List<String> keywords = geminiService.translateKeywords(rawKeywords);
+        listener.onStage(ChatStageListener.KEYWORDS, keywords);
+
+        return new Enrichment(interpretedSentence, imageDescriptionKo, keywords);
+    }
+
+    private Enrichment enrichParallel(String mergedSentence, String englishCaption,
+                                      String providedDescriptionKo, List<String> rawKeywords,
+                                      ChatStageListener listener) {
+
+        CompletableFuture<String> interpretedF = CompletableFuture
+                .supplyAsync(() -> geminiService.interpretMergedSentence(mergedSentence), enrichmentExecutor)
+                .exceptionally(e -> "감성 해석 중 오류 발생 (Exception)");
+
+        CompletableFuture<String> descriptionF;
+        if (providedDescriptionKo == null && englishCaption != null && !englishCaption.isBlank()) {
+            descriptionF = CompletableFuture
+                    .supplyAsync(() -> geminiService.translateToKorean(englishCaption), enrichmentExecutor)
+                    .exceptionally(e -> {
+                        e.printStackTrace();
+                        return null;
+                    });
+        } else {
+            descriptionF = CompletableFuture.completedFuture(providedDescriptionKo);
+        }
+
+        CompletableFuture<List<String>> keywordsF = CompletableFuture
+                .supplyAsync(() -> geminiService.translateKeywords(rawKeywords), enrichmentExecutor)
+                .exceptionally(e -> rawKeywords);
+
+        // 끝나는 순서대로 바로 전달 (스트리밍)
+        interpretedF.thenAccept(v -> emitInterpreted(listener, mergedSentence, v));
+        descriptionF.thenAccept(v -> emitImageDescription(listener, englishCaption, v));
+        keywordsF.thenAccept(v -> listener.onStage(ChatStageListener.KEYWORDS, v));
+
+        // 세 호출 모두에 하나의 마감 시간 적용 → 늦은 갈래만 fallback
+        try {
+            CompletableFuture.allOf(interpretedF, descriptionF, keywordsF)
+                    .get(enrichmentDeadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("⏱️ AI 응답 후처리 마감 시간 초과 → 완료되지 않은 항목은 fallback 사용");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 각 갈래에서 exceptionally로 처리하므로 여기까지 오지 않음
+            e.printStackTrace();
+        }
+
+        return new Enrichment(
+                interpretedF.getNow("감성 해석 생성 시간 초과"),
+                descriptionF.getNow(null),
+                keywordsF.getNow(rawKeywords)
+        );
+    }
+
+
+    private void emitInterpreted(ChatStageListener listener, String mergedSentence, String interpretedSentence) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("mergedSentence", mergedSentence);
+        event.put("interpretedSentence", interpretedSentence);
+        listener.onStage(ChatStageListener.INTERPRETED_SENTENCE, event);
+    }
+
+    private void emitImageDescription(ChatStageListener listener, String englishCaption, String imageDescriptionKo) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("englishCaption", englishCaption);
+        event.put("imageDescriptionKo", imageDescriptionKo);
+        listener.onStage(ChatStageListener.IMAGE_DESCRIPTION, event);
+    }
+
+
     // =====================================================
     // ④ 세션 전체 메시지 조회 (모든 세션 허용)
     // =====================================================
@@ -410,38 +710,7 @@ public class ChatService {
 
         List<ChatMessageResponse> list = new ArrayList<>();
         for (ChatMessage msg : messages) {
-
-            List<String> keywords = new ArrayList<>();
-            List<AiResponseResponse.Recommendation> recs = new ArrayList<>();
-            try {
-                if (msg.getKeywordsJson() != null)
-                    keywords = mapper.readValue(msg.getKeywordsJson(), List.class);
-
-                if (msg.getRecommendationsJson() != null)
-                    recs = Arrays.asList(
-                            mapper.readValue(msg.getRecommendationsJson(),
-                                    AiResponseResponse.Recommendation[].class)
-                    );
-            } catch (Exception ignored) {}
-
-            list.add(ChatMessageResponse.builder()
-                    .messageId(msg.getId())
-                    .sessionId(sessionId)
-                    .sender(msg.getSender())
-                    .text(msg.getText())
-                    .imageBase64(msg.getImageUrl() != null
-                            ? List.of("http://localhost:8080/chat-images/" + msg.getImageUrl())
-                            : null
-                    )
-                    .keywords(keywords)
-                    .recommendations(recs)
-                    .mergedSentence(msg.getMergedSentence())
-                    .interpretedSentence(msg.getInterpretedSentence())
-                    .englishText(msg.getEnglishText())
-                    .englishCaption(msg.getEnglishCaption())
-                    .imageDescriptionKo(msg.getImageDescriptionKo())
-                    .timestamp(msg.getCreatedAt())
-                    .build());
+            list.add(toMessageResponse(msg, sessionId));
         }
 
         // 🔥 SPACE일 때만 고정 Location + 고정 NearbyMusic 포함
@@ -471,6 +740,70 @@ public class ChatService {
     }
 
 
+    /**
+     * 전체 기록의 키셋 페이지 (오래된 메시지부터 limit 개씩)
+     * - cursor 없으면 첫 페이지, 응답의 nextCursor 로 다음 페이지
+     */
+    public CursorPageResponse<ChatMessageResponse> getChatHistoryPage(Long sessionId, String cursor, int limit) {
+
+        if (!sessionRepo.existsById(sessionId)) {
+            throw new RuntimeException("Session not found");
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit fetch = Limit.of(limit + 1); // 한 개 더 읽어서 다음 페이지 여부 판단
+
+        List<ChatMessage> messages = after == null
+                ? messageRepo.findBySessionIdOrderByCreatedAtAscIdAsc(sessionId, fetch)
+                : messageRepo.findPageAfter(sessionId, after.getTime(), after.getId(), fetch);
+
+        boolean hasNext = messages.size() > limit;
+        if (hasNext) messages = messages.subList(0, limit);
+
+        List<ChatMessageResponse> items = new ArrayList<>();
+        for (ChatMessage msg : messages) {
+            items.add(toMessageResponse(msg, sessionId));
+        }
+
+        ChatMessage last = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+        return CursorPageResponse.<ChatMessageResponse>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    private ChatMessageResponse toMessageResponse(ChatMessage msg, Long sessionId) {
+
+        // 엔티티 변환기가 파싱해 둔 리스트 그대로 사용 (메시지마다 다시 파싱 X)
+        List<String> keywords = msg.getKeywords() != null ? msg.getKeywords() : List.of();
+        List<AiResponseResponse.Recommendation> recs =
+                msg.getRecommendations() != null ? msg.getRecommendations() : List.of();
+
+        return ChatMessageResponse.builder()
+                .messageId(msg.getId())
+                .sessionId(sessionId)
+                .sender(msg.getSender())
+                .text(msg.getText())
+                .imageBase64(msg.getImageUrl() != null
+                        ? List.of("http://localhost:8080/chat-images/" + msg.getImageUrl())
+                        : null
+                )
+                .thumbnailUrl(msg.getImageUrl() != null
+                        ? "http://localhost:8080/chat-images/" + imageProcessingService.thumbnailUrl(msg.getImageUrl())
+                        : null
+                )
+                .keywords(keywords)
+                .recommendations(recs)
+                .mergedSentence(msg.getMergedSentence())
+                .interpretedSentence(msg.getInterpretedSentence())
+                .englishText(msg.getEnglishText())
+                .englishCaption(msg.getEnglishCaption())
+                .imageDescriptionKo(msg.getImageDescriptionKo())
+                .timestamp(msg.getCreatedAt())
+                .build();
+    }
+
     // =====================================================
     // ⑤ 요약 조회 (활성화되지 않은 세션만 허용)
     // =====================================================
@@ -515,21 +848,17 @@ public class ChatService {
             if (lastUserMsg != null) {
                 String fileName = lastUserMsg.getImageUrl();
                 if (fileName != null && !fileName.isBlank()) {
-                    repImages.add("http://localhost:8080/chat-images/" + fileName);
+                    // 요약 화면은 썸네일로 충분
+                    repImages.add("http://localhost:8080/chat-images/" + imageProcessingService.thumbnailUrl(fileName));
                 }
             }
 
-            // 전체 대화 병합
-            String full = messages.stream()
-                    .map(ChatMessage::getText)
-                    .filter(Objects::nonNull)
-                    .reduce((a, b) -> a + "\n" + b)
-                    .orElse("");
-
-            // Gemini를 사용한 대화 요약
-            String summary = geminiService.summarizeConversation(full);
-            String latestUserSummary =
-                    repText != null ? geminiService.summarizeSentence(repText) : null;
+            // 대화 요약 (세션 종료 시 미리 만들어 둔 값, 없으면 지금 만들어서 저장)
+            AiRecommendation stored = sessionSummaryService.findOrCompute(session, messages);
+            String summary = stored != null ? stored.getSummary() : "대화 요약 실패";
+            String latestUserSummary = stored != null
+                    ? stored.getLatestUserSummary()
+                    : repText != null ? "단일 문장 요약 실패" : null;
 
             // 마지막 AI 메시지
 
@@ -541,25 +870,17 @@ public class ChatService {
             String englishText = lastAi != null ? lastAi.getEnglishText() : null;
             String englishCaption = lastAi != null ? lastAi.getEnglishCaption() : null;
             String imageDescriptionKo = lastAi != null ? lastAi.getImageDescriptionKo() : null;
-            List<String> keywords = new ArrayList<>();
-            List<AiResponseResponse.Recommendation> recs = new ArrayList<>();
+            List<String> keywords = List.of();
+            List<AiResponseResponse.Recommendation> recs = List.of();
             String merged = null;
             String interpreted = null;
 
             if (lastAi != null) {
-                try {
-                    if (lastAi.getKeywordsJson() != null)
-                        keywords = mapper.readValue(lastAi.getKeywordsJson(), List.class);
-
-                    if (lastAi.getRecommendationsJson() != null)
-                        recs = Arrays.asList(
-                                mapper.readValue(lastAi.getRecommendationsJson(),
-                                        AiResponseResponse.Recommendation[].class));
-
-                    merged = lastAi.getMergedSentence();
-                    interpreted = lastAi.getInterpretedSentence();
+                if (lastAi.getKeywords() != null) keywords = lastAi.getKeywords();
+                if (lastAi.getRecommendations() != null) recs = lastAi.getRecommendations();
 
-                } catch (Exception ignored) {} // 내부 JSON 파싱 오류는 무시
+                merged = lastAi.getMergedSentence();
+                interpreted = lastAi.getInterpretedSentence();
             }
 
             ChatSummaryResponse.SummaryMode mode =
@@ -608,6 +929,21 @@ public class ChatService {
     // ⑥ 후속 메시지 전송 (user → AI 호출)
     // =====================================================
     public ChatHistoryResponse sendUserMessage(ChatMessageRequest req) {
+        return sendUserMessage(req, ChatStageListener.NONE);
+    }
+
+    public ChatHistoryResponse sendUserMessage(ChatMessageRequest req, ChatStageListener listener) {
+        try {
+            return sendUserMessageInternal(req, listener);
+        } finally {
+            // 세션 검사 등으로 거절되면 업로드 임시 파일이 남음 → 항상 정리 (저장됐으면 이미 옮겨져 아무 일 없음)
+            if (req.getImageBase64() != null) {
+                req.getImageBase64().discard();
+            }
+        }
+    }
+
+    private ChatHistoryResponse sendUserMessageInternal(ChatMessageRequest req, ChatStageListener listener) {
 
         Long sessionId = req.getSessionId();
 
@@ -621,6 +957,7 @@ public class ChatService {
         if (latest.isEmpty() || !Objects.equals(latest.get().getId(), sessionId)) {
             throw new RuntimeException("이전 세션에는 후속 메시지를 보낼 수 없습니다.");
         }
+        emitSession(listener, session);
 
         // ① 사용자 메시지 저장
         ChatMessage userMsg = new ChatMessage();
@@ -628,22 +965,37 @@ public class ChatService {
         userMsg.setSender("user");
         userMsg.setText(req.getText());
 
-        if (req.getImageBase64() != null && !req.getImageBase64().isBlank()) {
+        if (req.getImageBase64() != null) {
             try {
-                String fileName = imageService.saveBase64Image(req.getImageBase64());
+                String fileName = imageService.saveUpload(req.getImageBase64());
                 userMsg.setImageUrl(fileName);
+                // AI 요청 전에 분석용 축소본 준비 (시간 초과 시 원본 사용)
+                imageProcessingService.prepare(fileName).join();
             } catch (IOException e) {
+                req.getImageBase64().discard();
                 userMsg.setImageUrl(null);
             }
         }
 
-        messageRepo.save(userMsg);
+        saveUserMessage(userMsg);
+        emitUserMessage(listener, userMsg);
 
         // ② AI 요청 생성
+        AiResponseRequest aiReq = aiRequestFor(session, userMsg);
+
+        // ③ AI 응답 생성 (저장까지 끝)
+        generateAiResponse(aiReq, listener);
+
+        // ④ 전체 메시지 구조로 반환
+        return getChatFullHistory(sessionId);
+    }
+
+    /** 저장된 사용자 메시지로 AI 요청 생성 (후속 메시지 / 작업 재개 공통) */
+    private AiResponseRequest aiRequestFor(ChatSession session, ChatMessage userMsg) {
         AiResponseRequest aiReq = new AiResponseRequest();
-        aiReq.setSessionId(sessionId);
-        aiReq.setInputText(req.getText());
-        aiReq.setImageBase64(req.getImageBase64());
+        aiReq.setSessionId(session.getId());
+        aiReq.setInputText(userMsg.getText());
+        aiReq.setImageFileName(userMsg.getImageUrl());
 
         // 🔥 SPACE 후속 메시지에는 location이 request에 없음
         // 그러므로 세션에 저장해둔 startLat/startLng 사용해야 함.
@@ -691,12 +1043,24 @@ public class ChatService {
             aiReq.setLocation(null);
             aiReq.setNearbyMusic(null);
         }
+        return aiReq;
+    }
 
-        // ③ AI 응답 생성 (저장까지 끝)
-        generateAiResponse(aiReq);
-
-        // ④ 전체 메시지 구조로 반환
-        return getChatFullHistory(sessionId);
+    /**
+     * 중단된 턴 이어서 실행 (ChatJobService 재시도용)
+     * - 사용자 메시지는 이미 저장됨 → 그 뒤에 AI 응답이 없을 때만 AI 단계만 다시 실행
+     * - 세션 생성 / 사용자 메시지 저장 / 주제 생성은 반복하지 않음
+     */
+    public ChatHistoryResponse resumeAiTurn(Long userMessageId, ChatStageListener listener) {
+        ChatMessage userMsg = messageRepo.findById(userMessageId)
+                .orElseThrow(() -> new RuntimeException("Message not found: " + userMessageId));
+        ChatSession session = userMsg.getSession();
+        emitSession(listener, session);
+
+        if (!messageRepo.existsBySessionIdAndSenderAndIdGreaterThan(session.getId(), "ai", userMessageId)) {
+            generateAiResponse(aiRequestFor(session, userMsg), listener);
+        }
+        return getChatFullHistory(session.getId());
     }
 
 
@@ -704,29 +1068,54 @@ public class ChatService {
     // ⑦ 세션 목록 조회 (isEnded, endTime 정보 추가)
     // =====================================================
     public List<ChatSessionSummaryResponse> getSessionList(String type) {
-        List<ChatSession> sessions = sessionRepo.findByTypeOrderByStartTimeDesc(type);
+        return getSessionList(type, Pageable.unpaged());
+    }
 
+    /** 세션 목록 (마지막 메시지 포함, 쿼리 1번) */
+    public List<ChatSessionSummaryResponse> getSessionList(String type, Pageable pageable) {
         List<ChatSessionSummaryResponse> list = new ArrayList<>();
 
-        for (ChatSession s : sessions) {
+        for (ChatSessionRepository.SessionListItem s : sessionRepo.findSessionList(type, pageable)) {
+            list.add(toSummaryResponse(s));
+        }
+
+        return list;
+    }
 
-            Optional<ChatMessage> lastMsg =
-                    messageRepo.findTopBySessionIdOrderByCreatedAtDesc(s.getId());
+    /** 세션 목록의 키셋 페이지 (최신 세션부터 limit 개씩) */
+    public CursorPageResponse<ChatSessionSummaryResponse> getSessionListPage(String type, String cursor, int limit) {
 
-            String latestMsg = lastMsg.map(ChatMessage::getText).orElse("");
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        List<ChatSessionRepository.SessionListItem> rows = before == null
+                ? sessionRepo.findSessionList(type, PageRequest.of(0, limit + 1))
+                : sessionRepo.findSessionListBefore(type, before.getTime(), before.getId(), Limit.of(limit + 1));
 
-            list.add(ChatSessionSummaryResponse.builder()
-                    .sessionId(s.getId())
-                    .type(s.getType())
-                    .topic(s.getTopic())
-                    .latestMessage(latestMsg)
-                    .timestamp(s.getStartTime())
-                    .latest(s.getIsEnded() != null && s.getIsEnded())
-                    .endTime(s.getEndTime())
-                    .build());
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) rows = rows.subList(0, limit);
+
+        List<ChatSessionSummaryResponse> items = new ArrayList<>();
+        for (ChatSessionRepository.SessionListItem s : rows) {
+            items.add(toSummaryResponse(s));
         }
 
-        return list;
+        ChatSessionRepository.SessionListItem last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return CursorPageResponse.<ChatSessionSummaryResponse>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new KeysetCursor(last.getStartTime(), last.getSessionId()).encode() : null)
+                .build();
+    }
+
+    private ChatSessionSummaryResponse toSummaryResponse(ChatSessionRepository.SessionListItem s) {
+        return ChatSessionSummaryResponse.builder()
+                .sessionId(s.getSessionId())
+                .type(s.getType())
+                .topic(s.getTopic())
+                .latestMessage(s.getLatestMessage() != null ? s.getLatestMessage() : "")
+                .timestamp(s.getStartTime())
+                .latest(s.getEnded() != null && s.getEnded())
+                .endTime(s.getEndTime())
+                .build();
     }
 
     public List<ChatSessionSummaryResponse> getMySessionList() {
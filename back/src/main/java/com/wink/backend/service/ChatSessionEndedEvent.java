@@ -0,0 +1,39 @@
+package com.wink.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 새 세션 시작으로 이전 세션들이 종료됐을 때 발행
+ * - sessionIds: 이번에 실제로 종료 처리된 세션만 (이미 종료돼 있던 세션은 포함 X)
+ * - 요약 미리 만들기 등 종료 후 작업은 이 이벤트를 받아서 처리
+ */
+public class ChatSessionEndedEvent {
+
+    private final String type;
+    private final List<Long> sessionIds;
+    private final LocalDateTime endTime;
+
+    public ChatSessionEndedEvent(String type, List<Long> sessionIds, LocalDateTime endTime) {
+        this.type = type;
+        this.sessionIds = List.copyOf(sessionIds);
+        this.endTime = endTime;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public List<Long> getSessionIds() {
+        return sessionIds;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ChatSessionEndedEvent{type=" + type + ", sessionIds=" + sessionIds + "}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.wink.backend.service;
+
+/**
+ * 채팅 한 턴의 단계별 결과 수신자
+ * - 스트리밍(SSE) 응답에서 단계가 끝날 때마다 부분 결과를 바로 내보내기 위해 사용
+ * - 여러 스레드에서 동시에 호출될 수 있음
+ */
+@FunctionalInterface
+public interface ChatStageListener {
+
+    String SESSION = "session";
+    String USER_MESSAGE = "userMessage"; // 사용자 메시지 저장 완료 (messageId)
+    String TOPIC = "topic";
+    String RECOMMENDATIONS = "recommendations";
+    String INTERPRETED_SENTENCE = "interpretedSentence";
+    String KEYWORDS = "keywords";
+    String IMAGE_DESCRIPTION = "imageDescription";
+    String COMPLETE = "complete";
+    String ERROR = "error";
+
+    /** 아무것도 하지 않는 기본 수신자 (동기 API용) */
+    ChatStageListener NONE = (stage, data) -> {};
+
+    void onStage(String stage, Object data);
+}
@@ -0,0 +1,94 @@
+package com.wink.backend.service;
+
+import com.wink.backend.dto.ChatHistoryResponse;
+import com.wink.backend.dto.ChatMessageRequest;
+import com.wink.backend.dto.ChatStartMyRequest;
+import com.wink.backend.dto.ChatStartSpaceRequest;
+import com.wink.backend.dto.ImageUpload;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * ChatStreamService
+ * - 채팅 턴을 SSE로 실행: 각 단계(세션/주제/추천곡/해석/키워드/이미지 설명)가
+ *   끝나는 즉시 이벤트로 내보내고, 마지막에 전체 기록(complete)을 보낸다.
+ */
+@Service
+public class ChatStreamService {
+
+    private final ChatService chatService;
+    private final Executor chatStreamExecutor;
+
+    @Value("${chat.stream.timeout:120s}")
+    private Duration streamTimeout;
+
+    public ChatStreamService(ChatService chatService,
+                             @Qualifier("chatStreamExecutor") Executor chatStreamExecutor) {
+        this.chatService = chatService;
+        this.chatStreamExecutor = chatStreamExecutor;
+    }
+
+    public SseEmitter startMy(ChatStartMyRequest req) {
+        return stream(req.getImageBase64(), listener -> chatService.startMy(req, listener));
+    }
+
+    public SseEmitter startSpace(ChatStartSpaceRequest req) {
+        return stream(req.getImageBase64(), listener -> chatService.startSpace(req, listener));
+    }
+
+    public SseEmitter sendUserMessage(ChatMessageRequest req) {
+        return stream(req.getImageBase64(), listener -> chatService.sendUserMessage(req, listener));
+    }
+
+    private SseEmitter stream(ImageUpload upload, Function<ChatStageListener, ChatHistoryResponse> turn) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+
+        ChatStageListener listener = (stage, data) -> {
+            try {
+                emitter.send(SseEmitter.event().name(stage).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료 → 나머지 단계는 계속 진행(저장)하고 전송만 생략
+                System.err.println("⚠️ SSE 전송 실패 (" + stage + "): " + e.getMessage());
+            }
+        };
+
+        try {
+            chatStreamExecutor.execute(() -> {
+                try {
+                    ChatHistoryResponse history = turn.apply(listener);
+                    listener.onStage(ChatStageListener.COMPLETE, history);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    listener.onStage(ChatStageListener.ERROR, errorEvent(e.getMessage()));
+                } finally {
+                    emitter.complete();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 스트리밍 풀이 가득 참 → 턴을 실행하지 않고 바로 error 이벤트로 종료
+            if (upload != null) upload.discard();
+            listener.onStage(ChatStageListener.ERROR,
+                    errorEvent("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+            emitter.complete();
+        }
+
+        return emitter;
+    }
+
+    private static Map<String, Object> errorEvent(String message) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("message", message);
+        return event;
+    }
+}
@@ -0,0 +1,207 @@
+package com.wink.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GeminiClient
+ * - 애플리케이션 전체에서 하나의 HttpClient(HTTP/2, 커넥션 재사용)를 공유
+ * - 작업별 타임아웃, 전용 executor, 호출 통계(Micrometer) 제공
+ * - 모든 호출은 GeminiRateLimiter 허가를 받은 뒤 전송 (429 예방)
+ */
+@Component
+public class GeminiClient {
+
+    private static final String GEMINI_MODEL = "gemini-2.0-flash-lite";
+
+    private static final String GEMINI_URL =
+            "https://generativelanguage.googleapis.com/v1beta/models/"
+            + GEMINI_MODEL + ":generateContent";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${GEMINI_API_KEY:#{null}}")
+    private String apiKey;
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private final GeminiRateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public GeminiClient(Environment env,
+                        MeterRegistry meterRegistry,
+                        GeminiRateLimiter rateLimiter,
+                        @Value("${gemini.client.executor-threads:8}") int executorThreads,
+                        @Value("${gemini.client.connect-timeout:5s}") Duration connectTimeout) {
+        this.env = env;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(executorThreads, r -> {
+            Thread t = new Thread(r, "gemini-http-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "gemini-http");
+
+        // 🔥 클라이언트는 한 번만 생성 → 커넥션 풀 / HTTP/2 멀티플렉싱 재사용
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+
+        Gauge.builder("gemini.requests.in-flight", inFlight, AtomicInteger::get)
+                .description("현재 진행 중인 Gemini 요청 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    public String getEndpointUrl() {
+        return GEMINI_URL;
+    }
+
+    public int getApiKeyLength() {
+        return apiKey == null ? 0 : apiKey.length();
+    }
+
+    /** 작업별 타임아웃 (properties 우선, 없으면 기본값) */
+    public Duration timeoutFor(GeminiOperation operation) {
+        return env.getProperty("gemini.timeout." + operation.getKey(),
+                Duration.class, operation.getDefaultTimeout());
+    }
+
+    /**
+     * 프롬프트 하나로 generateContent 호출
+     * - 200 응답이면 첫 번째 후보 텍스트를 함께 파싱해서 돌려준다.
+     * - 대기 시간 안에 호출 허가를 못 받으면 보내지 않고 429로 돌려준다 (호출부 fallback 사용)
+     */
+    public Reply generate(GeminiOperation operation, String prompt) throws IOException, InterruptedException {
+
+        Map<String, Object> jsonBody = Map.of(
+                "contents", List.of(
+                        Map.of(
+                                "parts", List.of(
+                                        Map.of("text", prompt)
+                                )
+                        )
+                )
+        );
+        String requestBody = mapper.writeValueAsString(jsonBody);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
+                .timeout(timeoutFor(operation))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+
+        GeminiOperation.Priority priority = operation.getPriority();
+        try {
+            rateLimiter.acquire(priority, rateLimiter.maxWait(priority));
+        } catch (TimeoutException e) {
+            System.err.println("⚠️ " + e.getMessage() + " → " + operation.getKey() + " 건너뜀");
+            return new Reply(429, null, null);
+        }
+
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        String status = "error";
+        String protocol = "none";
+        GeminiRateLimiter.Outcome outcome = GeminiRateLimiter.Outcome.ERROR;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            status = String.valueOf(response.statusCode());
+            protocol = response.version().name();
+            outcome = outcomeOf(response.statusCode());
+
+            String text = response.statusCode() == 200 ? extractText(response.body()) : null;
+            return new Reply(response.statusCode(), response.body(), text);
+        } catch (HttpTimeoutException e) {
+            // 타임아웃도 과부하 신호로 보고 한도를 줄인다
+            outcome = GeminiRateLimiter.Outcome.THROTTLED;
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            rateLimiter.release(outcome);
+            Timer.builder("gemini.requests")
+                    .description("Gemini generateContent 호출 지연시간")
+                    .tag("operation", operation.getKey())
+                    .tag("status", status)
+                    .tag("protocol", protocol)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static GeminiRateLimiter.Outcome outcomeOf(int statusCode) {
+        if (statusCode == 200) return GeminiRateLimiter.Outcome.SUCCESS;
+        if (statusCode == 429 || statusCode == 503) return GeminiRateLimiter.Outcome.THROTTLED;
+        return GeminiRateLimiter.Outcome.ERROR;
+    }
+
+    private String extractText(String body) {
+        try {
+            JsonNode textNode = mapper.readTree(body).path("candidates").path(0)
+                    .path("content").path("parts").path(0).path("text");
+            return textNode.isMissingNode() || textNode.isNull() ? null : textNode.asText();
+        } catch (IOException e) {
+            System.err.println("⚠️ Gemini 응답 파싱 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Gemini 응답 (상태 코드 + 원문 + 후보 텍스트) */
+    @Getter
+    @AllArgsConstructor
+    public static class Reply {
+        private final int statusCode;
+        private final String body;
+        private final String text;
+
+        public boolean isOk() {
+            return statusCode == 200;
+        }
+
+        public String textOr(String fallback) {
+            return text != null ? text : fallback;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.wink.backend.service;
+
+import java.time.Duration;
+
+/**
+ * Gemini 호출 종류
+ * - 작업별 기본 타임아웃 (gemini.timeout.<key> 로 덮어쓰기 가능)
+ * - 우선순위: 채팅 턴에 바로 보이는 작업(INTERACTIVE)이 요약 같은 작업(BACKGROUND)보다 먼저
+ */
+public enum GeminiOperation {
+
+    EXTRACT_TOPIC("extract-topic", Duration.ofSeconds(10), Priority.INTERACTIVE),
+    TRANSLATE_KEYWORDS("translate-keywords", Duration.ofSeconds(10), Priority.INTERACTIVE),
+    SUMMARIZE_CONVERSATION("summarize-conversation", Duration.ofSeconds(15), Priority.BACKGROUND),
+    EXTRACT_KEYWORDS("extract-keywords", Duration.ofSeconds(10), Priority.BACKGROUND),
+    INTERPRET_MERGED_SENTENCE("interpret-merged-sentence", Duration.ofSeconds(12), Priority.INTERACTIVE),
+    TRANSLATE_TO_KOREAN("translate-to-korean", Duration.ofSeconds(10), Priority.INTERACTIVE),
+    SUMMARIZE_SENTENCE("summarize-sentence", Duration.ofSeconds(10), Priority.BACKGROUND);
+
+    /** 선언 순서 = 우선순위 (앞쪽이 먼저) */
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private final String key;
+    private final Duration defaultTimeout;
+    private final Priority priority;
+
+    GeminiOperation(String key, Duration defaultTimeout, Priority priority) {
+        this.key = key;
+        this.defaultTimeout = defaultTimeout;
+        this.priority = priority;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,196 @@
+package com.wink.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GeminiRateLimiter
+ * - 토큰 버킷: 초당 요청 수 제한 (429가 나기 전에 클라이언트 쪽에서 조절)
+ * - 적응형 동시 요청 한도(AIMD): 성공하면 조금씩 늘리고, 429/타임아웃이면 절반으로 줄임
+ * - 우선순위 대기열: INTERACTIVE 요청이 BACKGROUND 요청보다 항상 먼저 허가,
+ *   BACKGROUND는 한도의 일부만 사용 → 남는 자리는 채팅 턴용으로 비워둠
+ */
+@Component
+public class GeminiRateLimiter {
+
+    public enum Outcome { SUCCESS, THROTTLED, ERROR }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.seq));
+    private long seq;
+
+    // 토큰 버킷
+    private final double ratePerSecond;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    // AIMD 동시 요청 한도
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double backgroundShare;
+    private double limit;
+    private int inFlight;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gemini.limiter.max-wait.interactive:5s}")
+    private Duration interactiveMaxWait;
+
+    @Value("${gemini.limiter.max-wait.background:30s}")
+    private Duration backgroundMaxWait;
+
+    public GeminiRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${gemini.limiter.rate-per-second:10}") double ratePerSecond,
+                             @Value("${gemini.limiter.burst:20}") double burst,
+                             @Value("${gemini.limiter.initial-concurrency:8}") int initialLimit,
+                             @Value("${gemini.limiter.min-concurrency:1}") int minLimit,
+                             @Value("${gemini.limiter.max-concurrency:32}") int maxLimit,
+                             @Value("${gemini.limiter.backoff-ratio:0.5}") double backoffRatio,
+                             @Value("${gemini.limiter.background-share:0.5}") double backgroundShare) {
+        this.meterRegistry = meterRegistry;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.backgroundShare = backgroundShare;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("gemini.limiter.concurrency.limit", this, l -> l.read(() -> l.limit))
+                .description("현재 적응형 동시 요청 한도")
+                .register(meterRegistry);
+        Gauge.builder("gemini.limiter.in-flight", this, l -> l.read(() -> l.inFlight))
+                .register(meterRegistry);
+        Gauge.builder("gemini.limiter.queue.size", this, l -> l.read(() -> l.queue.size()))
+                .register(meterRegistry);
+    }
+
+    public Duration maxWait(GeminiOperation.Priority priority) {
+        return priority == GeminiOperation.Priority.INTERACTIVE ? interactiveMaxWait : backgroundMaxWait;
+    }
+
+    /**
+     * 호출 허가 대기
+     * @throws TimeoutException maxWait 안에 자리가 나지 않음
+     */
+    public void acquire(GeminiOperation.Priority priority, Duration maxWait)
+            throws InterruptedException, TimeoutException {
+
+        long start = System.nanoTime();
+        long deadline = start + maxWait.toNanos();
+        boolean granted = false;
+
+        lock.lock();
+        try {
+            Waiter me = new Waiter(priority, seq++);
+            queue.add(me);
+            try {
+                while (true) {
+                    refill();
+                    boolean head = queue.peek() == me;
+                    boolean slotFree = inFlight < concurrencyFor(priority);
+
+                    if (head && slotFree && tokens >= 1) {
+                        queue.poll();
+                        tokens -= 1;
+                        inFlight++;
+                        granted = true;
+                        changed.signalAll(); // 다음 대기자 확인
+                        return;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        meterRegistry.counter("gemini.limiter.rejected", "priority", priority.name()).increment();
+                        throw new TimeoutException("Gemini 요청 대기 시간 초과 (" + priority + ")");
+                    }
+
+                    // 자리는 있는데 토큰만 없으면 다음 토큰 시점까지만 대기
+                    long waitNanos = remaining;
+                    if (head && slotFree) {
+                        waitNanos = Math.min(remaining, nanosUntilNextToken());
+                    }
+                    changed.awaitNanos(Math.max(waitNanos, 1));
+                }
+            } finally {
+                if (!granted) {
+                    queue.remove(me);
+                    changed.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+            meterRegistry.timer("gemini.limiter.queue.wait", "priority", priority.name())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** 호출 종료 → 결과에 따라 한도 조정 (AIMD) */
+    public void release(Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (outcome == Outcome.THROTTLED) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                tokens = 0; // 잠시 버킷도 비워서 몰아치지 않도록
+            } else if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int concurrencyFor(GeminiOperation.Priority priority) {
+        int current = (int) limit;
+        if (priority == GeminiOperation.Priority.INTERACTIVE) return current;
+        return Math.max(1, (int) (current * backgroundShare));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        tokens = Math.min(burst, tokens + elapsedSeconds * ratePerSecond);
+        lastRefillNanos = now;
+    }
+
+    private long nanosUntilNextToken() {
+        double missing = 1 - tokens;
+        return missing <= 0 ? 0 : (long) (missing / ratePerSecond * 1_000_000_000L);
+    }
+
+    private double read(java.util.function.DoubleSupplier value) {
+        lock.lock();
+        try {
+            return value.getAsDouble();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Waiter {
+        private final GeminiOperation.Priority priority;
+        private final long seq;
+
+        private Waiter(GeminiOperation.Priority priority, long seq) {
+            this.priority = priority;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.wink.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wink.backend.entity.GeminiCacheEntry;
+import com.wink.backend.repository.GeminiCacheEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GeminiResponseCache
+ * - (작업 종류, 정규화된 프롬프트 해시) → Gemini 응답 텍스트
+ * - 크기 제한(W-TinyLFU) + TTL, 옵션으로 DB(gemini_cache_entry)에 영구 저장
+ * - 적중률 / 절약 시간 메트릭 제공
+ */
+@Component
+public class GeminiResponseCache {
+
+    private final Cache<String, Entry> cache;
+    private final GeminiCacheEntryRepository entryRepo;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final boolean persistent;
+
+    public GeminiResponseCache(GeminiCacheEntryRepository entryRepo,
+                               MeterRegistry meterRegistry,
+                               @Value("${gemini.cache.max-size:10000}") long maxSize,
+                               @Value("${gemini.cache.ttl:24h}") Duration ttl,
+                               @Value("${gemini.cache.persistent:false}") boolean persistent) {
+        this.entryRepo = entryRepo;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.persistent = persistent;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gemini.responses");
+    }
+
+    /** 캐시된 응답 텍스트 (없으면 null) */
+    public String get(GeminiOperation operation, String prompt) {
+        String key = key(operation, prompt);
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null && persistent) {
+            entry = loadPersisted(key);
+            if (entry != null) cache.put(key, entry);
+        }
+
+        meterRegistry.counter("gemini.cache.requests",
+                "operation", operation.getKey(),
+                "result", entry != null ? "hit" : "miss").increment();
+
+        if (entry == null) return null;
+
+        // 적중 = 원래 호출 시간만큼 절약
+        meterRegistry.timer("gemini.cache.saved", "operation", operation.getKey())
+                .record(entry.latencyNanos, TimeUnit.NANOSECONDS);
+        return entry.text;
+    }
+
+    /** 메모리 캐시만 확인 (메트릭 X) - single-flight 리더가 직전에 저장된 응답을 찾을 때 */
+    public String peek(GeminiOperation operation, String prompt) {
+        Entry entry = cache.getIfPresent(key(operation, prompt));
+        return entry != null ? entry.text : null;
+    }
+
+    public void put(GeminiOperation operation, String prompt, String text, long latencyNanos) {
+        if (text == null || text.isBlank()) return;
+
+        String key = key(operation, prompt);
+        cache.put(key, new Entry(text, latencyNanos));
+
+        if (persistent) {
+            try {
+                GeminiCacheEntry row = new GeminiCacheEntry();
+                row.setCacheKey(key);
+                row.setOperation(operation.getKey());
+                row.setText(text);
+                row.setLatencyMs(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+                entryRepo.save(row);
+            } catch (Exception e) {
+                // 영구 저장 실패해도 메모리 캐시는 유지
+                System.err.println("⚠️ Gemini 캐시 저장 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    private Entry loadPersisted(String key) {
+        try {
+            GeminiCacheEntry row = entryRepo.findById(key).orElse(null);
+            if (row == null) return null;
+            if (row.getCreatedAt() == null || row.getCreatedAt().plus(ttl).isBefore(LocalDateTime.now())) {
+                entryRepo.delete(row);
+                return null;
+            }
+            long latencyMs = row.getLatencyMs() != null ? row.getLatencyMs() : 0L;
+            return new Entry(row.getText(), TimeUnit.MILLISECONDS.toNanos(latencyMs));
+        } catch (Exception e) {
+            System.err.println("⚠️ Gemini 캐시 조회 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** 캐시 키: operation + ":" + sha256(정규화된 프롬프트) */
+    public static String key(GeminiOperation operation, String prompt) {
+        return operation.getKey() + ":" + sha256(normalize(prompt));
+    }
+
+    /** 공백 정리 (띄어쓰기만 다른 프롬프트는 같은 요청으로 본다, 대소문자는 결과가 달라질 수 있어 구분) */
+    static String normalize(String prompt) {
+        if (prompt == null) return "";
+        return prompt.strip().replaceAll("\\s+", " ");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final String text;
+        private final long latencyNanos;
+
+        private Entry(String text, long latencyNanos) {
+            this.text = text;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+}
@@ -1,42 +1,109 @@
 package com.wink.backend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
-import java.net.http.*;
-import java.net.URI;
-import java.time.Duration;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * GeminiService
  * - Google Gemini API를 이용한 주제 추출, 요약, 키워드 번역 기능 제공
+ * - 실제 HTTP 호출은 공유 GeminiClient가 담당
  */
 @Service
 public class GeminiService {
 
-private static final String GEMINI_MODEL = "gemini-2.0-flash-lite";
+    private final GeminiClient geminiClient;
+    private final GeminiResponseCache responseCache;
+    private final KeywordTranslationStore translationStore;
+    private final MeterRegistry meterRegistry;
+
+    // 진행 중인 동일 요청 (캐시 키 → 응답 future) : 같은 프롬프트는 HTTP 요청 하나만
+    private final Map<String, CompletableFuture<GeminiClient.Reply>> inFlight = new ConcurrentHashMap<>();
+
+    public GeminiService(GeminiClient geminiClient,
+                         GeminiResponseCache responseCache,
+                         KeywordTranslationStore translationStore,
+                         MeterRegistry meterRegistry) {
+        this.geminiClient = geminiClient;
+        this.responseCache = responseCache;
+        this.translationStore = translationStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 공통 호출 경로
+     * - 캐시 조회 → 같은 요청이 진행 중이면 그 결과를 함께 기다림(single-flight)
+     *   → 아니면 직접 Gemini 호출 → 정상 응답만 캐시에 저장
+     * - 순서: 캐시 저장 → 대기자 깨움 → inFlight 제거
+     *   (제거 뒤에 들어온 같은 요청은 캐시에서 찾으므로 HTTP 요청이 다시 나가지 않음)
+     */
+    GeminiClient.Reply generate(GeminiOperation operation, String prompt)
+            throws IOException, InterruptedException {
+
+        String cached = responseCache.get(operation, prompt);
+        if (cached != null) {
+            return new GeminiClient.Reply(200, null, cached);
+        }
+
+        String key = GeminiResponseCache.key(operation, prompt);
+        CompletableFuture<GeminiClient.Reply> mine = new CompletableFuture<>();
+        CompletableFuture<GeminiClient.Reply> leader = inFlight.putIfAbsent(key, mine);
+
+        if (leader != null) {
+            meterRegistry.counter("gemini.requests.coalesced", "operation", operation.getKey()).increment();
+            return awaitLeader(leader);
+        }
 
-private static final String GEMINI_URL =
-    "https://generativelanguage.googleapis.com/v1beta/models/" 
-    + GEMINI_MODEL + ":generateContent";
+        try {
+            // 캐시 조회와 putIfAbsent 사이에 앞선 요청이 끝났을 수 있음 → 한 번 더 확인
+            String justCached = responseCache.peek(operation, prompt);
+            if (justCached != null) {
+                GeminiClient.Reply reply = new GeminiClient.Reply(200, null, justCached);
+                mine.complete(reply);
+                return reply;
+            }
 
-    @Value("${GEMINI_API_KEY:#{null}}")
-    private String apiKey;
+            long start = System.nanoTime();
+            GeminiClient.Reply reply = geminiClient.generate(operation, prompt);
+            if (reply.isOk()) {
+                responseCache.put(operation, prompt, reply.getText(), System.nanoTime() - start);
+            }
+            mine.complete(reply);
+            return reply;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
 
-    private static final ObjectMapper mapper = new ObjectMapper();
+    private GeminiClient.Reply awaitLeader(CompletableFuture<GeminiClient.Reply> leader)
+            throws IOException, InterruptedException {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IOException("Gemini 요청 실패", cause);
+        }
+    }
 
     /** ✅ 연결 상태 점검용 */
     public void checkApiConnection() {
         System.out.println("--------------------------------------------------");
         System.out.println("🔍 Gemini API 연결 상태 확인");
-        System.out.println("📡 엔드포인트 URL: " + GEMINI_URL);
-        if (apiKey == null || apiKey.isBlank()) {
+        System.out.println("📡 엔드포인트 URL: " + geminiClient.getEndpointUrl());
+        if (!geminiClient.isConfigured()) {
             System.out.println("❌ GEMINI_API_KEY 인식 안 됨 (환경변수 또는 properties 확인 필요)");
         } else {
-            System.out.println("✅ GEMINI_API_KEY 인식됨 (길이: " + apiKey.length() + "자)");
+            System.out.println("✅ GEMINI_API_KEY 인식됨 (길이: " + geminiClient.getApiKeyLength() + "자)");
         }
         System.out.println("--------------------------------------------------");
     }
@@ -44,7 +111,7 @@ private static final String GEMINI_URL =
     /** ✅ 입력 텍스트로부터 핵심 주제(topic) 도출 */
     public String extractTopic(String inputText) {
         try {
-            if (apiKey == null || apiKey.isBlank()) {
+            if (!geminiClient.isConfigured()) {
                 System.err.println("❌ GEMINI_API_KEY is not set. Using fallback.");
                 return fallbackTopic(inputText);
             }
@@ -54,47 +121,23 @@ private static final String GEMINI_URL =
                     "꼭 필요한 문장 기호가 아닌 이상 넣지 마. " +
                     "일반적으로 요약하지 말고 input text의 특성을 살려서 제목 만들어줘 문장: \"" + inputText + "\"";
 
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            GeminiClient.Reply reply = generate(GeminiOperation.EXTRACT_TOPIC, prompt);
 
             System.out.println("📨 Gemini 요청: " + prompt);
-            System.out.println("✅ Gemini 응답 코드: " + response.statusCode());
-            System.out.println("✅ Gemini 응답 본문: " + response.body());
+            System.out.println("✅ Gemini 응답 코드: " + reply.getStatusCode());
+            System.out.println("✅ Gemini 응답 본문: " + (reply.getBody() != null ? reply.getBody() : "(캐시) " + reply.getText()));
 
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ Gemini API 호출 실패 (" + response.statusCode() + ")");
+            if (!reply.isOk()) {
+                System.err.println("⚠️ Gemini API 호출 실패 (" + reply.getStatusCode() + ")");
                 return fallbackTopic(inputText);
             }
 
-            JsonNode root = mapper.readTree(response.body());
-            JsonNode textNode = root.path("candidates").get(0)
-                    .path("content").path("parts").get(0).path("text");
-
-            if (textNode.isMissingNode() || textNode.asText().isBlank()) {
+            if (reply.getText() == null || reply.getText().isBlank()) {
                 System.err.println("⚠️ Gemini 응답에 주제 텍스트 없음");
                 return fallbackTopic(inputText);
             }
 
-            return textNode.asText().trim();
+            return reply.getText().trim();
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -102,51 +145,78 @@ private static final String GEMINI_URL =
         }
     }
 
-    /** ✅ 영어 키워드 리스트를 한국어 감성 단어로 번역 */
+    /**
+     * ✅ 영어 키워드 리스트를 한국어 감성 단어로 번역
+     * - 이미 번역한 단어는 사전(KeywordTranslationStore)에서 바로 해결
+     * - 처음 보는 단어만 한 번의 프롬프트로 묶어 Gemini에 요청 → 사전에 저장
+     * - 응답 개수가 어긋나면 gemini.keywords.mismatch 증가 후 단어별로 재요청
+     * - 결과는 입력 순서 그대로 병합
+     */
     public List<String> translateKeywords(List<String> englishKeywords) {
+        if (englishKeywords == null || englishKeywords.isEmpty()) {
+            System.out.println("⚠️ 번역할 키워드 없음 → 원본 유지");
+            return englishKeywords;
+        }
+
+        // 사전에 없는 단어만 (중복 제거, 순서 유지)
+        LinkedHashMap<String, String> unseen = new LinkedHashMap<>();
+        for (String word : englishKeywords) {
+            String key = KeywordTranslationStore.normalize(word);
+            if (!key.isEmpty() && translationStore.get(key) == null) {
+                unseen.putIfAbsent(key, word.trim());
+            }
+        }
+
+        if (!unseen.isEmpty()) {
+            List<String> translated = requestKeywordTranslation(new ArrayList<>(unseen.values()));
+
+            if (translated != null && translated.size() == unseen.size()) {
+                int i = 0;
+                for (String key : unseen.keySet()) {
+                    translationStore.put(key, translated.get(i++));
+                }
+            } else if (translated != null) {
+                // 개수가 어긋나면 단어 대응을 알 수 없음 → 한 단어씩 다시 요청
+                meterRegistry.counter("gemini.keywords.mismatch").increment();
+                System.err.println("⚠️ 키워드 번역 개수 불일치 (" + unseen.size() + " → " + translated.size() + ") → 단어별 재시도");
+                for (Map.Entry<String, String> e : unseen.entrySet()) {
+                    List<String> single = requestKeywordTranslation(List.of(e.getValue()));
+                    if (single != null && single.size() == 1) {
+                        translationStore.put(e.getKey(), single.get(0));
+                    }
+                }
+            }
+        }
+
+        // 입력 순서대로 병합 (번역 못 한 단어는 원본 유지)
+        List<String> result = new ArrayList<>(englishKeywords.size());
+        for (String word : englishKeywords) {
+            String korean = translationStore.get(word);
+            result.add(korean != null ? korean : word);
+        }
+        return result;
+    }
+
+    /** 처음 보는 키워드 묶음 번역 (실패 시 null) */
+    private List<String> requestKeywordTranslation(List<String> englishKeywords) {
         try {
-            if (apiKey == null || apiKey.isBlank() || englishKeywords == null || englishKeywords.isEmpty()) {
-                System.out.println("⚠️ GEMINI_API_KEY 없음 또는 번역할 키워드 없음 → 원본 유지");
-                return englishKeywords;
+            if (!geminiClient.isConfigured()) {
+                System.out.println("⚠️ GEMINI_API_KEY 없음 → 원본 유지");
+                return null;
             }
 
             String joined = String.join(", ", englishKeywords);
             String prompt = "다음 영어 단어들을 감성적인 한국어 단어로 번역해줘. " + "단, 입력된 모든 단어를 반드시 번역해. 의미가 약하면 의미를 보정해도 괜찮아." +
                     "단, 개수와 순서는 반드시 유지하고, **다른 설명이나 문장 부호 없이 오직 쉼표(,)로만 구분해서** 출력해줘. 단어들: " + joined;
 
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ 키워드 번역 실패 (" + response.statusCode() + ")");
-                return englishKeywords;
-            }
+            GeminiClient.Reply reply = generate(GeminiOperation.TRANSLATE_KEYWORDS, prompt);
 
-            JsonNode root = mapper.readTree(response.body());
-            String text = root.path("candidates").get(0)
-                    .path("content").path("parts").get(0)
-                    .path("text").asText();
+            if (!reply.isOk()) {
+                System.err.println("⚠️ 키워드 번역 실패 (" + reply.getStatusCode() + ")");
+                return null;
+            }
 
-            return Arrays.stream(text.split(","))
+            return Arrays.stream(reply.textOr("").split(","))
                     .map(String::trim)
                     .filter(s -> !s.isEmpty())
                     .toList();
@@ -154,12 +224,12 @@ private static final String GEMINI_URL =
         } catch (Exception e) {
             e.printStackTrace();
             System.err.println("⚠️ 키워드 번역 중 오류 발생");
-            return englishKeywords;
+            return null;
         }
     }
 
-    /** ✅ Gemini API 실패 시 간단한 규칙 기반 주제 추출 */
-    private String fallbackTopic(String text) {
+    /** ✅ Gemini API 실패 시 간단한 규칙 기반 주제 추출 (Gemini 응답 전 임시 주제로도 사용) */
+    public String fallbackTopic(String text) {
         text = text == null ? "" : text;
         if (text.contains("비")) return "비 오는 날 감성";
         if (text.contains("집중")) return "집중용 재즈";
@@ -173,48 +243,19 @@ private static final String GEMINI_URL =
     /** ✅ 대화 전체 요약 */
     public String summarizeConversation(String allText) {
         try {
-            if (apiKey == null || apiKey.isBlank()) {
+            if (!geminiClient.isConfigured()) {
                 return "Gemini API Key가 설정되지 않았습니다.";
             }
 
-            String prompt = "다음은 사용자의 대화 기록입니다. 핵심 내용을 3문장 이내로 간략히 요약해줘:\n" + allText;
-
-            // String requestBody = String.format("""
-            //     {
-            //       "contents": [ { "parts": [ { "text": "%s" } ] } ]
-            //     }
-            // """, prompt.replace("\"", "'"));
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(15))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ 대화 요약 실패 (" + response.statusCode() + ")");
-                return "대화 요약 실패: " + response.statusCode();
+            String prompt = conversationSummaryPrompt(allText);
+
+            GeminiClient.Reply reply = generate(GeminiOperation.SUMMARIZE_CONVERSATION, prompt);
+            if (!reply.isOk()) {
+                System.err.println("⚠️ 대화 요약 실패 (" + reply.getStatusCode() + ")");
+                return "대화 요약 실패: " + reply.getStatusCode();
             }
 
-            JsonNode root = mapper.readTree(response.body());
-            return root.path("candidates").get(0)
-                       .path("content").path("parts").get(0)
-                       .path("text").asText("요약 결과 없음");
+            return reply.textOr("요약 결과 없음");
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -225,48 +266,19 @@ private static final String GEMINI_URL =
     /** ✅ 요약문 기반 키워드 추출 */
     public List<String> extractKeywords(String summary) {
         try {
-            if (apiKey == null || apiKey.isBlank()) {
+            if (!geminiClient.isConfigured()) {
                 return List.of("요약", "대화", "결과");
             }
 
             String prompt = "다음 요약문에서 주요 키워드 3~5개를 추출해줘. 쉼표로만 구분해서 출력해줘:\n" + summary;
 
-            // String requestBody = String.format("""
-            //     {
-            //       "contents": [ { "parts": [ { "text": "%s" } ] } ]
-            //     }
-            // """, prompt.replace("\"", "'"));
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ 키워드 추출 실패 (" + response.statusCode() + ")");
+            GeminiClient.Reply reply = generate(GeminiOperation.EXTRACT_KEYWORDS, prompt);
+            if (!reply.isOk()) {
+                System.err.println("⚠️ 키워드 추출 실패 (" + reply.getStatusCode() + ")");
                 return List.of("요약", "실패");
             }
 
-            JsonNode root = mapper.readTree(response.body());
-            String text = root.path("candidates").get(0)
-                              .path("content").path("parts").get(0)
-                              .path("text").asText();
-
-            return Arrays.stream(text.split(","))
+            return Arrays.stream(reply.textOr("").split(","))
                     .map(String::trim)
                     .filter(s -> !s.isEmpty())
                     .toList();
@@ -276,7 +288,7 @@ private static final String GEMINI_URL =
             return List.of("오류", "발생");
         }
     }
-    /** 
+    /**
      * 🎵 mergedSentence(영문) → 한국어 감성 해석문 변환
      */
     public String interpretMergedSentence(String mergedSentence) {
@@ -286,52 +298,28 @@ private static final String GEMINI_URL =
         }
 
         try {
-            if (apiKey == null || apiKey.isBlank()) {
+            if (!geminiClient.isConfigured()) {
                 return "Gemini API Key가 설정되지 않았습니다.";
             }
 
             String prompt =
                     "다음 문장을 자연스러운 한국어 감성 문장으로 해석해줘. " + "문장에서 suffraget university 이런식의 한국에 없는 것들은 빼줘" +
-                    "직역하지 말고 문맥의 분위기, 감정, 정서를 담아 한 문장으로 표현하되, '~해서 추천합니다.' 형식으로 출력해줘':\n" 
+                    "직역하지 말고 문맥의 분위기, 감정, 정서를 담아 한 문장으로 표현하되, '~해서 추천합니다.' 형식으로 출력해줘':\n"
                     + mergedSentence;
 
-            // ... (HTTP 요청 본문 구성 및 HttpClient 설정 코드 생략)
-
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(12))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            
+            GeminiClient.Reply reply = generate(GeminiOperation.INTERPRET_MERGED_SENTENCE, prompt);
+
             // [수정]: 오류 발생 시 상세 상태 코드 출력
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ mergedSentence 해석 실패: HTTP Status Code " + response.statusCode());
+            if (!reply.isOk()) {
+                System.err.println("⚠️ mergedSentence 해석 실패: HTTP Status Code " + reply.getStatusCode());
                 // 필요하다면 응답 본문까지 출력하여 Gemini의 에러 메시지 확인
-                // System.err.println("Gemini Error Body: " + response.body()); 
-                
+                // System.err.println("Gemini Error Body: " + reply.getBody());
+
                 // HTTP 실패와 일반 오류 메시지를 분리하여 반환
-                return "감성 해석 생성 실패 (HTTP:" + response.statusCode() + ")";
+                return "감성 해석 생성 실패 (HTTP:" + reply.getStatusCode() + ")";
             }
 
-            JsonNode root = mapper.readTree(response.body());
-            return root.path("candidates").get(0)
-                    .path("content").path("parts").get(0)
-                    .path("text").asText("해석 결과 없음");
+            return reply.textOr("해석 결과 없음");
 
         } catch (Exception e) {
             // [수정]: 일반 오류 발생 시, 오류 로그와 메시지 분리
@@ -350,44 +338,21 @@ private static final String GEMINI_URL =
         }
 
         try {
-            if (apiKey == null || apiKey.isBlank()) {
+            if (!geminiClient.isConfigured()) {
                 return englishText; // fallback: 영어 그대로 반환
             }
 
             String prompt = "다음 영어 문장을 자연스러운 한국어 문장으로 번역해줘. " +
                     "직역 말고 분위기와 감정을 살려서 부드럽게 표현해되, 존댓말로 '~합니다.'로 답해:\n" + englishText;
 
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ translateToKorean 실패 (" + response.statusCode() + ")");
+            GeminiClient.Reply reply = generate(GeminiOperation.TRANSLATE_TO_KOREAN, prompt);
+
+            if (!reply.isOk()) {
+                System.err.println("⚠️ translateToKorean 실패 (" + reply.getStatusCode() + ")");
                 return englishText; // fallback
             }
 
-            JsonNode root = mapper.readTree(response.body());
-            return root.path("candidates").get(0)
-                    .path("content").path("parts").get(0)
-                    .path("text").asText(englishText);
+            return reply.textOr(englishText);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -406,51 +371,59 @@ private static final String GEMINI_URL =
         }
 
         try {
-            if (apiKey == null || apiKey.isBlank()) {
+            if (!geminiClient.isConfigured()) {
                 return "Gemini API Key가 설정되지 않았습니다.";
             }
 
-            String prompt = "다음 문장을 음악 감성과 관련된 핵심 키워드를 중심으로 5단어 이내로 요약해줘:\n" + inputText;
-
-            // String requestBody = String.format("""
-            //     {
-            //       "contents": [ { "parts": [ { "text": "%s" } ] } ]
-            //     }
-            // """, prompt.replace("\"", "'"));
-            Map<String, Object> jsonBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-            String requestBody = mapper.writeValueAsString(jsonBody);
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_URL + "?key=" + apiKey))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                System.err.println("⚠️ 단일 문장 요약 실패 (" + response.statusCode() + ")");
+            String prompt = sentenceSummaryPrompt(inputText);
+
+            GeminiClient.Reply reply = generate(GeminiOperation.SUMMARIZE_SENTENCE, prompt);
+
+            if (!reply.isOk()) {
+                System.err.println("⚠️ 단일 문장 요약 실패 (" + reply.getStatusCode() + ")");
                 return "단일 문장 요약 실패";
             }
 
-            JsonNode root = mapper.readTree(response.body());
-            return root.path("candidates").get(0)
-                       .path("content").path("parts").get(0)
-                       .path("text").asText("요약 결과 없음");
+            return reply.textOr("요약 결과 없음");
 
         } catch (Exception e) {
             e.printStackTrace();
             return "요약 중 오류 발생";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 세션 요약 저장용: 실패하면 안내 문구 대신 null (→ 저장하지 않고 나중에 다시 시도)
+     */
+    public String trySummarizeConversation(String allText) {
+        return generateOrNull(GeminiOperation.SUMMARIZE_CONVERSATION, conversationSummaryPrompt(allText));
+    }
+
+    public String trySummarizeSentence(String inputText) {
+        if (inputText == null || inputText.isBlank()) return null;
+        return generateOrNull(GeminiOperation.SUMMARIZE_SENTENCE, sentenceSummaryPrompt(inputText));
+    }
+
+    private String generateOrNull(GeminiOperation operation, String prompt) {
+        if (!geminiClient.isConfigured()) return null;
+        try {
+            GeminiClient.Reply reply = generate(operation, prompt);
+            String text = reply.isOk() ? reply.textOr(null) : null;
+            return text != null && !text.isBlank() ? text : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            System.err.println("⚠️ Gemini 호출 실패 (" + operation.getKey() + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String conversationSummaryPrompt(String allText) {
+        return "다음은 사용자의 대화 기록입니다. 핵심 내용을 3문장 이내로 간략히 요약해줘:\n" + allText;
+    }
+
+    private static String sentenceSummaryPrompt(String inputText) {
+        return "다음 문장을 음악 감성과 관련된 핵심 키워드를 중심으로 5단어 이내로 요약해줘:\n" + inputText;
+    }
+}
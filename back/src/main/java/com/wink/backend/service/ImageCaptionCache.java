@@ -0,0 +1,65 @@
+package com.wink.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wink.backend.entity.ImageCaption;
+import com.wink.backend.repository.ImageCaptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * ImageCaptionCache
+ * - 이미지 해시 → (englishCaption, imageDescriptionKo)
+ * - 메모리(Caffeine) → image_caption 테이블 순으로 조회
+ * - 적중률: images.caption.cache{result=hit|miss}
+ */
+@Component
+public class ImageCaptionCache {
+
+    private final ImageCaptionRepository captionRepo;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, ImageCaption> cache;
+
+    public ImageCaptionCache(ImageCaptionRepository captionRepo,
+                             MeterRegistry meterRegistry,
+                             @Value("${image.caption.cache.max-size:5000}") long maxSize) {
+        this.captionRepo = captionRepo;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /** 캐시된 캡션 (없으면 null) */
+    public ImageCaption get(String imageHash) {
+        ImageCaption caption = cache.getIfPresent(imageHash);
+        if (caption == null) {
+            try {
+                caption = captionRepo.findById(imageHash).orElse(null);
+            } catch (Exception e) {
+                System.err.println("⚠️ 이미지 캡션 조회 실패: " + e.getMessage());
+            }
+            if (caption != null) cache.put(imageHash, caption);
+        }
+
+        meterRegistry.counter("images.caption.cache",
+                "result", caption != null ? "hit" : "miss").increment();
+        return caption;
+    }
+
+    public void put(String imageHash, String englishCaption, String imageDescriptionKo) {
+        ImageCaption caption = new ImageCaption();
+        caption.setImageHash(imageHash);
+        caption.setEnglishCaption(englishCaption);
+        caption.setImageDescriptionKo(imageDescriptionKo);
+        cache.put(imageHash, caption);
+
+        try {
+            captionRepo.save(caption);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이미지가 동시에 처리됨 → 먼저 저장된 값 유지
+        } catch (Exception e) {
+            System.err.println("⚠️ 이미지 캡션 저장 실패: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.wink.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImageProcessingService
+ * - 저장된 이미지로 축소본 생성 (전용 풀에서 실행)
+ *   · analysis : AI 서버 캡셔닝용 (긴 변 1024px)
+ *   · thumb    : 기록 / 요약 화면용 (긴 변 256px)
+ * - 원본(ab/cd/<hash>.jpg)은 절대 다시 쓰지 않음: 파일명 = 내용 해시 (중복 판별 / immutable 캐시 기준)
+ */
+@Service
+public class ImageProcessingService {
+
+    public static final String ANALYSIS = "analysis";
+    public static final String THUMBNAIL = "thumb";
+
+    private final ImageService imageService;
+    private final Executor imageProcessingExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${image.analysis.max-size:1024}")
+    private int analysisMaxSize;
+
+    @Value("${image.thumbnail.max-size:256}")
+    private int thumbnailMaxSize;
+
+    @Value("${image.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // AI 요청 전에 축소본을 기다리는 최대 시간 (넘으면 원본으로 진행)
+    @Value("${image.processing.timeout:5s}")
+    private Duration processingTimeout;
+
+    public ImageProcessingService(ImageService imageService,
+                                  @Qualifier("imageProcessingExecutor") Executor imageProcessingExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.imageService = imageService;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 축소본 생성 (실패해도 예외 없이 완료 → 원본 사용) */
+    public CompletableFuture<Void> process(String imageUrl) {
+        if (imageUrl == null) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture
+                .runAsync(() -> processNow(imageUrl), imageProcessingExecutor)
+                .exceptionally(e -> {
+                    System.err.println("⚠️ 이미지 축소 실패 (" + imageUrl + "): " + e.getMessage());
+                    meterRegistry.counter("images.processing.failures").increment();
+                    return null;
+                });
+    }
+
+    /** AI 요청 전 준비: 축소본 생성을 최대 processingTimeout 동안 기다린 뒤 imageUrl 그대로 전달 */
+    public CompletableFuture<String> prepare(String imageUrl) {
+        if (imageUrl == null) return CompletableFuture.completedFuture(null);
+
+        return process(imageUrl)
+                .completeOnTimeout(null, processingTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(v -> imageUrl);
+    }
+
+    /** AI 서버로 보낼 파일 (축소본이 있으면 축소본, 없으면 원본) */
+    public Path analysisFile(String imageUrl) {
+        Path variant = imageService.resolve(variantOf(imageUrl, ANALYSIS));
+        return Files.exists(variant) ? variant : imageService.resolve(imageUrl);
+    }
+
+    /**
+     * 썸네일 URL 경로: <원본>?variant=thumb (아직 없거나 원본이 충분히 작으면 원본 경로)
+     * - 원본 경로(내용 해시)를 그대로 쓰므로 ImageController가 immutable 캐시 / 해시 ETag 적용
+     */
+    public String thumbnailUrl(String imageUrl) {
+        if (imageUrl == null) return null;
+        String thumb = variantOf(imageUrl, THUMBNAIL);
+        return Files.exists(imageService.resolve(thumb)) ? imageUrl + "?variant=" + THUMBNAIL : imageUrl;
+    }
+
+    /** ab/cd/<hash>.jpg → ab/cd/<hash>_<variant>.jpg */
+    public static String variantOf(String imageUrl, String variant) {
+        int dot = imageUrl.lastIndexOf('.');
+        String base = dot > imageUrl.lastIndexOf('/') ? imageUrl.substring(0, dot) : imageUrl;
+        return base + "_" + variant + ".jpg";
+    }
+
+    private void processNow(String imageUrl) {
+        Path original = imageService.resolve(imageUrl);
+        if (!Files.exists(original)) return;
+
+        try {
+            Path thumb = imageService.resolve(variantOf(imageUrl, THUMBNAIL));
+            if (!Files.exists(thumb)) {
+                writeScaled(original, thumb, thumbnailMaxSize, THUMBNAIL);
+            }
+
+            Path analysis = imageService.resolve(variantOf(imageUrl, ANALYSIS));
+            if (!Files.exists(analysis)) {
+                writeScaled(original, analysis, analysisMaxSize, ANALYSIS);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 긴 변이 maxSize가 되도록 축소해서 JPEG로 저장
+     * - 디코딩 단계에서 서브샘플링 → 큰 사진도 전체 해상도로 메모리에 올리지 않음
+     * @return 원본이 이미 작아서 건너뛰면 false
+     */
+    private boolean writeScaled(Path source, Path target, int maxSize, String variant) throws IOException {
+        long start = System.nanoTime();
+
+        BufferedImage scaled;
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int longest = Math.max(width, height);
+                if (longest <= maxSize) return false;
+
+                // 목표 크기의 2배 정도까지만 줄여서 읽고, 나머지는 보간으로 축소 (화질 유지)
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / (maxSize * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                double ratio = (double) maxSize / longest;
+                int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+                int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+                scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = scaled.createGraphics();
+                try {
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    g.setColor(Color.WHITE); // 투명 PNG → 흰 배경
+                    g.fillRect(0, 0, targetWidth, targetHeight);
+                    g.drawImage(decoded, 0, 0, targetWidth, targetHeight, null);
+                } finally {
+                    g.dispose();
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        // 임시 파일에 쓴 뒤 교체 → 읽는 쪽이 반쯤 쓰인 파일을 보지 않음
+        Path tmp = Files.createTempFile(target.getParent(), "variant_", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                ImageWriteParam writeParam = writer.getDefaultWriteParam();
+                writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                writeParam.setCompressionQuality(jpegQuality);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(scaled, null, null), writeParam);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Timer.builder("images.processing")
+                .tag("variant", variant)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return true;
+    }
+}
@@ -1,41 +1,189 @@
 package com.wink.backend.service;
 
+import com.wink.backend.dto.ImageUpload;
+import com.wink.backend.entity.StoredImage;
+import com.wink.backend.repository.StoredImageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import java.util.UUID;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * ImageService
+ * - 업로드 이미지를 내용 해시(SHA-256) 기준으로 저장: uploads/chat-images/ab/cd/<hash>.jpg
+ * - 같은 사진을 다시 보내면 파일은 그대로 두고 참조 수(stored_image)만 증가
+ */
 @Service
 public class ImageService {
 
     private static final String UPLOAD_DIR = "uploads/chat-images/";
 
+    private static final Pattern CONTENT_ADDRESSED =
+            Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.jpg");
+
+    private final StoredImageRepository storedImageRepo;
+    private final MeterRegistry meterRegistry;
+
+    public ImageService(StoredImageRepository storedImageRepo, MeterRegistry meterRegistry) {
+        this.storedImageRepo = storedImageRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 요청 본문에서 이미 디코딩된 임시 파일 → 저장소로 이동
+     * - 바이트를 다시 읽거나 복사하지 않음 (같은 파일시스템이면 rename)
+     */
+    public String saveUpload(ImageUpload upload) throws IOException {
+
+        if (upload == null) return null;
+
+        return store(upload.getFile(), upload.getSha256(), upload.getSize());
+    }
+
     /**
-     * Base64 문자열을 이미지 파일로 저장하고
-     * 저장된 파일명을 반환한다.
+     * multipart 이미지 파트 → 업로드 폴더의 임시 파일
+     * - 컨테이너가 디스크에 받아 둔 파트는 transferTo 로 옮김 (같은 파일시스템이면 rename → 디스크 기록 1번)
+     *   메모리에 있던 작은 파트(file-size-threshold 이하)는 여기서 한 번만 기록
+     * - SHA-256 은 옮긴 파일을 읽으면서 계산 (다시 쓰지 않음)
+     * - 업로드 폴더 안에 두므로 saveUpload 때 같은 파일시스템 안에서 rename만 일어남
+     * @return 빈 파트면 null
      */
-    public String saveBase64Image(String base64String) throws IOException {
+    public ImageUpload receive(MultipartFile part) throws IOException {
+
+        if (part == null || part.isEmpty()) return null;
+
+        Path dir = Paths.get(UPLOAD_DIR);
+        Files.createDirectories(dir);
+
+        Path tmp = Files.createTempFile(dir, "upload_", ".tmp").toAbsolutePath();
+        try {
+            // transferTo(Path)는 스트림 복사 → File 버전이어야 컨테이너 임시 파일을 rename (절대 경로 필수)
+            part.transferTo(tmp.toFile());
+
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(tmp), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return new ImageUpload(tmp, Files.size(tmp), HexFormat.of().formatHex(digest.digest()));
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /** 파일 → data URL (AI 서버가 다른 호스트라 경로를 못 쓸 때만 사용) */
+    public String toDataUrl(Path file) throws IOException {
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(Files.readAllBytes(file));
+    }
+
+    /** 저장된 파일명 → 절대 경로 (같은 호스트의 AI 서버가 직접 읽을 수 있도록) */
+    public Path resolve(String fileName) {
+        return Paths.get(UPLOAD_DIR).resolve(fileName).toAbsolutePath().normalize();
+    }
+
+    /** 업로드 폴더 (절대 경로) */
+    public Path root() {
+        return Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+    }
+
+    /** 업로드 폴더 밖을 가리키면(../ 등) null */
+    public Path resolveInside(String relative) {
+        Path root = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+        Path path = root.resolve(relative).normalize();
+        return path.startsWith(root) ? path : null;
+    }
 
-        if (base64String == null || base64String.isBlank()) return null;
+    /**
+     * imageUrl → 내용 해시 (SHA-256)
+     * - 내용 주소 저장 이전 파일(millis_uuid.jpg)이면 null
+     */
+    public static String contentHash(String imageUrl) {
+        if (imageUrl == null) return null;
+        Matcher m = CONTENT_ADDRESSED.matcher(imageUrl);
+        return m.matches() ? m.group(1) : null;
+    }
 
-        // "data:image/png;base64,..."
-        if (base64String.contains(",")) {
-            base64String = base64String.split(",")[1];
+    /**
+     * 메시지가 이미지를 참조하지 않게 됐을 때 (메시지 저장 실패 등) 참조 수 -1
+     * - 파일 삭제와 참조 수 최종 보정은 ImageSweeper 담당
+     */
+    public void releaseReference(String imageUrl) {
+        String hash = contentHash(imageUrl);
+        if (hash != null) {
+            storedImageRepo.decrementRefCount(hash);
         }
+    }
+
+    /**
+     * 내용 주소 저장: ab/cd/<sha256>.jpg
+     * - 이미 같은 내용이 있으면 임시 파일은 버리고 기존 파일을 가리킴
+     * - 반환값(상대 경로)이 ChatMessage.imageUrl 로 저장됨 → 참조 수 +1
+     */
+    private String store(Path tmp, String hash, long size) throws IOException {
+
+        String relative = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".jpg";
+        Path target = Paths.get(UPLOAD_DIR).resolve(relative);
 
-        byte[] decodedBytes = Base64.getDecoder().decode(base64String);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(tmp);
+            // 수정 시각 갱신 → 메시지 저장 전까지 정리 작업(유예 시간)이 지우지 않음
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            meterRegistry.counter("images.stored", "result", "duplicate").increment();
+            meterRegistry.counter("images.dedup.saved.bytes").increment(size);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // 임시 폴더가 다른 파일시스템 → 복사 후 삭제
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            meterRegistry.counter("images.stored", "result", "new").increment();
+        }
 
-        String fileName = System.currentTimeMillis() + "_" +
-                UUID.randomUUID() + ".jpg";
+        addReference(hash, relative, size);
+        return relative;
+    }
 
-        File outputFile = new File(UPLOAD_DIR + fileName);
-        outputFile.getParentFile().mkdirs();
+    private void addReference(String hash, String relative, long size) {
+        if (storedImageRepo.incrementRefCount(hash) > 0) return;
 
-        Files.write(outputFile.toPath(), decodedBytes);
+        StoredImage image = new StoredImage();
+        image.setHash(hash);
+        image.setPath(relative);
+        image.setSizeBytes(size);
+        image.setRefCount(1);
+        try {
+            storedImageRepo.saveAndFlush(image);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이미지가 동시에 처음 저장됨 → 먼저 들어간 행의 참조 수를 올림
+            storedImageRepo.incrementRefCount(hash);
+        }
+    }
 
-        return fileName;
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,308 @@
+package com.wink.backend.service;
+
+import com.wink.backend.config.SingleBase64Deserializer;
+import com.wink.backend.repository.ChatMessageRepository;
+import com.wink.backend.repository.StoredImageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * ImageSweeper
+ * - uploads/chat-images 를 ChatMessage.imageUrl 과 대조해서 아무도 참조하지 않는 파일 삭제
+ *   · 메시지 저장 실패로 남은 이미지, 원본이 없는 축소본, 오래된 임시 파일(upload_*, variant_*)
+ *   · 내용 주소 이미지는 stored_image 참조 수도 실제 메시지 수로 보정
+ * - 한 번에 batch-size 개씩, chunk-size 단위 조회 사이에 pause → DB / 디스크 부하 분산
+ * - 어디까지 봤는지 .sweep-cursor 에 기록 → 재시작해도 이어서 진행
+ * - grace-period 안에 수정된 파일은 건너뜀 (저장 직후 메시지가 아직 DB에 없는 경우)
+ * - 회수량: images.sweep.reclaimed.bytes, images.sweep.deleted{kind}
+ */
+@Component
+public class ImageSweeper {
+
+    private static final String CURSOR_FILE = ".sweep-cursor";
+    private static final String[] VARIANT_SUFFIXES = {
+            "_" + ImageProcessingService.THUMBNAIL + ".jpg",
+            "_" + ImageProcessingService.ANALYSIS + ".jpg"
+    };
+
+    private final ImageService imageService;
+    private final ChatMessageRepository messageRepo;
+    private final StoredImageRepository storedImageRepo;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${image.sweep.enabled:true}")
+    private boolean enabled;
+
+    @Value("${image.sweep.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${image.sweep.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${image.sweep.pause:200ms}")
+    private Duration pause;
+
+    @Value("${image.sweep.grace-period:1h}")
+    private Duration gracePeriod;
+
+    public ImageSweeper(ImageService imageService,
+                        ChatMessageRepository messageRepo,
+                        StoredImageRepository storedImageRepo,
+                        MeterRegistry meterRegistry) {
+        this.imageService = imageService;
+        this.messageRepo = messageRepo;
+        this.storedImageRepo = storedImageRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(initialDelayString = "${image.sweep.initial-delay:5m}",
+               fixedDelayString = "${image.sweep.interval:10m}")
+    public void sweep() {
+        if (!enabled) return;
+
+        try {
+            Path root = imageService.root();
+            if (!Files.isDirectory(root)) return;
+
+            String cursor = readCursor(root);
+            List<String> batch = nextBatch(root, cursor);
+
+            long reclaimed = 0;
+            for (int i = 0; i < batch.size(); i += chunkSize) {
+                reclaimed += sweepChunk(root, batch.subList(i, Math.min(i + chunkSize, batch.size())));
+                Thread.sleep(pause.toMillis());
+            }
+
+            if (batch.size() < batchSize) {
+                // 끝까지 봤음 → 요청 임시 폴더도 정리하고 처음부터 다시
+                reclaimed += sweepTempDir(SingleBase64Deserializer.TEMP_DIR);
+                writeCursor(root, "");
+            } else {
+                writeCursor(root, batch.get(batch.size() - 1));
+            }
+
+            if (reclaimed > 0) {
+                System.out.println("🧹 업로드 정리: " + batch.size() + "개 확인, " + reclaimed + " bytes 회수");
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("⚠️ 업로드 정리 실패: " + e.getMessage());
+        }
+    }
+
+    // =====================================================
+    // 대상 목록 (커서 이후 batch-size 개)
+    // =====================================================
+
+    /**
+     * 루트의 파일(이전 방식 파일 / 임시 파일) → ab/cd 폴더 순서로 상대 경로를 정렬해서 나열
+     * - 폴더를 하나씩만 읽으므로 전체 목록을 메모리에 올리지 않음
+     */
+    private List<String> nextBatch(Path root, String cursor) throws IOException {
+        List<String> batch = new ArrayList<>();
+        String cursorShard = shardOf(cursor);
+
+        for (String shard : shards(root)) {
+            if (!cursor.isEmpty() && shard.compareTo(cursorShard) < 0) continue;
+
+            for (String name : sortedFileNames(shard.isEmpty() ? root : root.resolve(shard))) {
+                String relative = shard.isEmpty() ? name : shard + "/" + name;
+                if (shard.equals(cursorShard) && !cursor.isEmpty() && name.compareTo(nameOf(cursor)) <= 0) continue;
+
+                batch.add(relative);
+                if (batch.size() >= batchSize) return batch;
+            }
+        }
+        return batch;
+    }
+
+    /** "" (루트) + "ab/cd" 폴더들 (정렬) */
+    private List<String> shards(Path root) throws IOException {
+        List<String> shards = new ArrayList<>();
+        shards.add("");
+        for (String first : sortedDirNames(root)) {
+            for (String second : sortedDirNames(root.resolve(first))) {
+                shards.add(first + "/" + second);
+            }
+        }
+        return shards;
+    }
+
+    // =====================================================
+    // 판정 + 삭제
+    // =====================================================
+
+    private long sweepChunk(Path root, List<String> chunk) {
+        long now = System.currentTimeMillis();
+        long reclaimed = 0;
+
+        List<String> images = new ArrayList<>();
+        for (String relative : chunk) {
+            String name = nameOf(relative);
+            Path file = root.resolve(relative);
+
+            if (!isOld(file, now)) continue;
+
+            if (name.endsWith(".tmp")) {
+                // 저장 / 축소 도중 실패하고 남은 임시 파일
+                reclaimed += delete(file, "temp");
+            } else if (isVariant(name)) {
+                // 원본이 사라진 축소본
+                if (!Files.exists(root.resolve(originalOf(relative)))) {
+                    reclaimed += delete(file, "variant");
+                }
+            } else {
+                images.add(relative);
+            }
+        }
+
+        if (images.isEmpty()) return reclaimed;
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : messageRepo.countByImageUrlIn(images)) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+
+        for (String relative : images) {
+            long refs = counts.getOrDefault(relative, 0L);
+            String hash = ImageService.contentHash(relative);
+
+            if (refs > 0) {
+                if (hash != null) storedImageRepo.updateRefCount(hash, (int) refs);
+                continue;
+            }
+
+            // 조회하는 사이에 같은 사진이 다시 저장됐으면(수정 시각 갱신) 유지
+            Path file = root.resolve(relative);
+            if (!isOld(file, now)) continue;
+
+            reclaimed += delete(file, "orphan");
+            for (String suffix : VARIANT_SUFFIXES) {
+                reclaimed += delete(root.resolve(variantPath(relative, suffix)), "variant");
+            }
+            if (hash != null) {
+                storedImageRepo.deleteById(hash);
+            }
+        }
+        return reclaimed;
+    }
+
+    private long sweepTempDir(Path dir) {
+        if (!Files.isDirectory(dir)) return 0;
+
+        long now = System.currentTimeMillis();
+        long reclaimed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "upload_*")) {
+            for (Path file : files) {
+                if (isOld(file, now)) reclaimed += delete(file, "temp");
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ 임시 업로드 폴더 정리 실패: " + e.getMessage());
+        }
+        return reclaimed;
+    }
+
+    private long delete(Path file, String kind) {
+        try {
+            if (!Files.exists(file)) return 0;
+            long size = Files.size(file);
+            if (!Files.deleteIfExists(file)) return 0;
+
+            meterRegistry.counter("images.sweep.deleted", "kind", kind).increment();
+            meterRegistry.counter("images.sweep.reclaimed.bytes").increment(size);
+            return size;
+        } catch (IOException e) {
+            System.err.println("⚠️ 파일 삭제 실패 (" + file + "): " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean isOld(Path file, long now) {
+        try {
+            return now - Files.getLastModifiedTime(file).toMillis() > gracePeriod.toMillis();
+        } catch (IOException e) {
+            return false; // 이미 지워졌거나 읽을 수 없음
+        }
+    }
+
+    // =====================================================
+    // 경로 유틸
+    // =====================================================
+
+    private static boolean isVariant(String name) {
+        for (String suffix : VARIANT_SUFFIXES) {
+            if (name.endsWith(suffix)) return true;
+        }
+        return false;
+    }
+
+    /** ab/cd/<hash>_thumb.jpg → ab/cd/<hash>.jpg */
+    private static String originalOf(String variant) {
+        for (String suffix : VARIANT_SUFFIXES) {
+            if (variant.endsWith(suffix)) {
+                return variant.substring(0, variant.length() - suffix.length()) + ".jpg";
+            }
+        }
+        return variant;
+    }
+
+    private static String variantPath(String imageUrl, String suffix) {
+        int dot = imageUrl.lastIndexOf('.');
+        String base = dot > imageUrl.lastIndexOf('/') ? imageUrl.substring(0, dot) : imageUrl;
+        return base + suffix;
+    }
+
+    private static String shardOf(String relative) {
+        int slash = relative.lastIndexOf('/');
+        return slash < 0 ? "" : relative.substring(0, slash);
+    }
+
+    private static String nameOf(String relative) {
+        return relative.substring(relative.lastIndexOf('/') + 1);
+    }
+
+    private static List<String> sortedDirNames(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(Files::isDirectory)
+                    .map(p -> p.getFileName().toString())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static List<String> sortedFileNames(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(Files::isRegularFile)
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> !name.startsWith("."))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String readCursor(Path root) {
+        try {
+            Path file = root.resolve(CURSOR_FILE);
+            return Files.exists(file) ? Files.readString(file, StandardCharsets.UTF_8).trim() : "";
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static void writeCursor(Path root, String cursor) throws IOException {
+        Files.writeString(root.resolve(CURSOR_FILE), cursor, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.wink.backend.service;
+
+import com.wink.backend.entity.KeywordTranslation;
+import com.wink.backend.repository.KeywordTranslationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * KeywordTranslationStore
+ * - 한 번 번역된 키워드를 단어 단위로 보관 (메모리 + keyword_translation 테이블)
+ * - 키워드 어휘가 작고 반복적이라 시작 시 전부 메모리에 올려두고 O(1) 조회
+ */
+@Component
+public class KeywordTranslationStore {
+
+    private static final int MAX_WORD_LENGTH = 100;
+
+    private final KeywordTranslationRepository translationRepo;
+    private final Map<String, String> dictionary = new ConcurrentHashMap<>();
+
+    public KeywordTranslationStore(KeywordTranslationRepository translationRepo) {
+        this.translationRepo = translationRepo;
+    }
+
+    @PostConstruct
+    public void load() {
+        for (KeywordTranslation row : translationRepo.findAll()) {
+            dictionary.put(row.getEnglishWord(), row.getKorean());
+        }
+        System.out.println("📚 키워드 번역 사전 로드: " + dictionary.size() + "개");
+    }
+
+    /** 번역된 단어 (없으면 null) */
+    public String get(String englishWord) {
+        return dictionary.get(normalize(englishWord));
+    }
+
+    public void put(String englishWord, String korean) {
+        String key = normalize(englishWord);
+        if (key.isEmpty() || korean == null || korean.isBlank()) return;
+        if (key.length() > MAX_WORD_LENGTH || korean.length() > MAX_WORD_LENGTH) return;
+
+        // 먼저 들어온 번역 유지 (동시에 같은 단어가 들어와도 한 번만 저장)
+        if (dictionary.putIfAbsent(key, korean.trim()) != null) return;
+
+        try {
+            KeywordTranslation row = new KeywordTranslation();
+            row.setEnglishWord(key);
+            row.setKorean(korean.trim());
+            translationRepo.save(row);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 저장 → 무시
+        } catch (Exception e) {
+            System.err.println("⚠️ 키워드 번역 저장 실패 (" + key + "): " + e.getMessage());
+        }
+    }
+
+    public static String normalize(String word) {
+        return word == null ? "" : word.trim().toLowerCase(Locale.ROOT);
+    }
+}
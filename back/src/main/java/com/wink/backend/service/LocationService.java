@@ -6,15 +6,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wink.backend.dto.*;
 
-import jakarta.annotation.PostConstruct;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Random;
 import java.util.ArrayList;
@@ -30,16 +27,12 @@ public class LocationService {
     @Value("${kakao.api.key}")
     private String kakaoApiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // 공용 커넥션 풀 RestTemplate (응답 기본 charset UTF-8은 RestTemplateConfig에서 설정)
+    private final RestTemplate restTemplate;
     private final ObjectMapper mapper = new ObjectMapper();
 
-    @PostConstruct
-    public void init() {
-        restTemplate.getMessageConverters().stream()
-                .filter(c -> c instanceof org.springframework.http.converter.StringHttpMessageConverter)
-                .findFirst()
-                .ifPresent(c -> ((org.springframework.http.converter.StringHttpMessageConverter) c)
-                        .setDefaultCharset(StandardCharsets.UTF_8));
+    public LocationService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
     }
 
     public LocationResponse searchLocation(String query) {
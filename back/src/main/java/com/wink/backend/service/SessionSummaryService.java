@@ -0,0 +1,216 @@
+package com.wink.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wink.backend.dto.AiResponseResponse;
+import com.wink.backend.entity.AiRecommendation;
+import com.wink.backend.entity.AiRecommendationSong;
+import com.wink.backend.entity.ChatMessage;
+import com.wink.backend.entity.ChatSession;
+import com.wink.backend.repository.AiRecommendationRepository;
+import com.wink.backend.repository.AiRecommendationSongRepository;
+import com.wink.backend.repository.ChatMessageRepository;
+import com.wink.backend.repository.ChatSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * SessionSummaryService
+ * - 세션이 끝나면(ChatSessionEndedEvent) 요약을 백그라운드에서 만들어 ai_recommendation 에 저장
+ *   · summary: 대화 전체 요약, latestUserSummary: 마지막 user 메시지 한 줄 요약
+ *   · keywordsJson + ai_recommendation_song: 마지막 AI 추천 스냅샷
+ * - 요약 조회는 저장된 값 사용, 없으면(이전 세션 / 미리 만들기 실패) 그 자리에서 만들고 저장
+ * - Gemini 호출이 실패하면 저장하지 않음 → 다음 조회 때 다시 시도
+ */
+@Service
+public class SessionSummaryService {
+
+    private final AiRecommendationRepository recommendationRepo;
+    private final AiRecommendationSongRepository songRepo;
+    private final ChatSessionRepository sessionRepo;
+    private final ChatMessageRepository messageRepo;
+    private final GeminiService geminiService;
+    private final Executor summaryExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public SessionSummaryService(AiRecommendationRepository recommendationRepo,
+                                 AiRecommendationSongRepository songRepo,
+                                 ChatSessionRepository sessionRepo,
+                                 ChatMessageRepository messageRepo,
+                                 GeminiService geminiService,
+                                 @Qualifier("summaryExecutor") Executor summaryExecutor,
+                                 MeterRegistry meterRegistry) {
+        this.recommendationRepo = recommendationRepo;
+        this.songRepo = songRepo;
+        this.sessionRepo = sessionRepo;
+        this.messageRepo = messageRepo;
+        this.geminiService = geminiService;
+        this.summaryExecutor = summaryExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // =====================================================
+    // 세션 종료 → 요약 미리 만들기
+    // =====================================================
+    @EventListener
+    public void onSessionEnded(ChatSessionEndedEvent event) {
+        for (Long sessionId : event.getSessionIds()) {
+            try {
+                summaryExecutor.execute(() -> precompute(sessionId));
+            } catch (TaskRejectedException e) {
+                // 대기열이 가득 참 → 건너뜀 (요약 조회 때 만들어서 저장)
+                meterRegistry.counter("chat.summary.precompute", "result", "dropped").increment();
+            }
+        }
+    }
+
+    private void precompute(Long sessionId) {
+        try {
+            if (recommendationRepo.findBySession_Id(sessionId) != null) return;
+
+            ChatSession session = sessionRepo.findById(sessionId).orElse(null);
+            if (session == null) return;
+
+            List<ChatMessage> messages = messageRepo.findBySessionIdOrderByCreatedAtAsc(sessionId);
+            if (messages.isEmpty()) {
+                meterRegistry.counter("chat.summary.precompute", "result", "empty").increment();
+                return;
+            }
+
+            // 마지막 턴의 AI 응답이 아직 저장 중 → 불완전한 요약을 영구 저장하지 않음 (조회 때 만듦)
+            if (!"ai".equals(messages.get(messages.size() - 1).getSender())) {
+                meterRegistry.counter("chat.summary.precompute", "result", "pending").increment();
+                return;
+            }
+
+            AiRecommendation stored = compute(session, messages);
+            meterRegistry.counter("chat.summary.precompute",
+                    "result", stored != null ? "stored" : "failed").increment();
+
+        } catch (Exception e) {
+            meterRegistry.counter("chat.summary.precompute", "result", "failed").increment();
+            System.err.println("⚠️ 세션 요약 미리 만들기 실패 (" + sessionId + "): " + e.getMessage());
+        }
+    }
+
+    // =====================================================
+    // 요약 조회 (저장된 값 → 없으면 만들어서 저장)
+    // =====================================================
+
+    /**
+     * @param messages 세션 메시지 (시간순, 호출부에서 이미 읽은 것 재사용)
+     * @return 저장된 요약, Gemini 실패로 만들지 못하면 null
+     */
+    public AiRecommendation findOrCompute(ChatSession session, List<ChatMessage> messages) {
+        AiRecommendation stored = recommendationRepo.findBySession_Id(session.getId());
+        if (stored != null) {
+            meterRegistry.counter("chat.summary.requests", "source", "stored").increment();
+            return stored;
+        }
+
+        meterRegistry.counter("chat.summary.requests", "source", "backfill").increment();
+        return compute(session, messages);
+    }
+
+    private AiRecommendation compute(ChatSession session, List<ChatMessage> messages) {
+        String full = messages.stream()
+                .map(ChatMessage::getText)
+                .filter(Objects::nonNull)
+                .reduce((a, b) -> a + "\n" + b)
+                .orElse("");
+
+        ChatMessage lastUser = last(messages, "user");
+        String repText = lastUser != null ? lastUser.getText() : null;
+
+        String summary = geminiService.trySummarizeConversation(full);
+        if (summary == null) return null;
+
+        String latestUserSummary = null;
+        if (repText != null && !repText.isBlank()) {
+            latestUserSummary = geminiService.trySummarizeSentence(repText);
+            if (latestUserSummary == null) return null;
+        }
+
+        ChatMessage lastAi = last(messages, "ai");
+
+        // 요약하는 동안 새 메시지가 저장됐으면 이 요약은 버림
+        Long lastId = messages.get(messages.size() - 1).getId();
+        Long latestId = messageRepo.findTopBySessionIdOrderByCreatedAtDesc(session.getId())
+                .map(ChatMessage::getId).orElse(null);
+        if (!Objects.equals(lastId, latestId)) return null;
+
+        AiRecommendation rec = new AiRecommendation();
+        rec.setSession(session);
+        rec.setSummary(summary);
+        rec.setLatestUserSummary(latestUserSummary);
+        rec.setKeywordsJson(toJson(lastAi != null && lastAi.getKeywords() != null ? lastAi.getKeywords() : List.of()));
+
+        try {
+            rec = recommendationRepo.saveAndFlush(rec);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 세션을 동시에 만듦 (종료 이벤트 + 조회) → 먼저 저장된 값 사용
+            AiRecommendation existing = recommendationRepo.findBySession_Id(session.getId());
+            return existing != null ? existing : rec;
+        }
+
+        saveSongs(rec, lastAi);
+        return rec;
+    }
+
+    /** 마지막 AI 추천곡 스냅샷 (순위 = 추천 순서) */
+    private void saveSongs(AiRecommendation rec, ChatMessage lastAi) {
+        if (lastAi == null || lastAi.getRecommendations() == null) return;
+
+        try {
+            List<AiResponseResponse.Recommendation> recs = lastAi.getRecommendations();
+
+            for (int i = 0; i < recs.size(); i++) {
+                AiResponseResponse.Recommendation r = recs.get(i);
+                AiRecommendationSong song = new AiRecommendationSong();
+                song.setRecommendation(rec);
+                song.setSongId(parseSongId(r.getSongId()));
+                song.setTitle(r.getTitle());
+                song.setArtist(r.getArtist());
+                song.setAlbumCover(r.getAlbumCover());
+                song.setPreviewUrl(r.getPreviewUrl());
+                song.setRankNo(i + 1);
+                songRepo.save(song);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 추천곡 스냅샷 저장 실패: " + e.getMessage());
+        }
+    }
+
+    private String toJson(List<String> keywords) {
+        try {
+            return mapper.writeValueAsString(keywords);
+        } catch (Exception e) {
+            return "[]";
+        }
+    }
+
+    private static ChatMessage last(List<ChatMessage> messages, String sender) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (sender.equals(messages.get(i).getSender())) return messages.get(i);
+        }
+        return null;
+    }
+
+    // 외부 곡 ID(Spotify 등)는 숫자가 아니므로 저장하지 않음
+    private static Long parseSongId(String songId) {
+        if (songId == null) return null;
+        try {
+            return Long.parseLong(songId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.wink.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서 = (정렬 시각, id)
+ * - 클라이언트에는 불투명한 문자열(Base64 URL)로 전달
+ */
+public class KeysetCursor {
+
+    private final LocalDateTime time;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime time, Long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** null / 빈 문자열이면 null (첫 페이지) */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, bar)), Long.parseLong(raw.substring(bar + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.wink.backend.service;
+
+import com.wink.backend.dto.ChatMessageResponse;
+import com.wink.backend.dto.ChatSessionSummaryResponse;
+import com.wink.backend.dto.CursorPageResponse;
+import com.wink.backend.entity.ChatMessage;
+import com.wink.backend.entity.ChatSession;
+import com.wink.backend.repository.ChatMessageRepository;
+import com.wink.backend.repository.ChatSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 키셋 페이지: 실제 쿼리(H2)로 limit+1 경계와 같은 시각의 id 정렬 확인
+ * + 세션 10k 개에서 목록 조회 쿼리 수 / 시간 (예전 1 + N 방식과 비교)
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.show-sql=false"
+})
+class ChatServicePagingTest {
+
+	private static final int BENCHMARK_SESSIONS = 10_000;
+
+	private static final LocalDateTime T = LocalDateTime.of(2026, 3, 1, 21, 30);
+
+	@Autowired
+	private ChatSessionRepository sessionRepo;
+
+	@Autowired
+	private ChatMessageRepository messageRepo;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private ChatService chatService;
+
+	@BeforeEach
+	void setUp() {
+		chatService = new ChatService(sessionRepo,
+				mock(GeminiService.class),
+				messageRepo,
+				mock(ImageService.class),
+				mock(ImageProcessingService.class),
+				mock(ImageCaptionCache.class),
+				mock(LocationService.class),
+				mock(AiServerClient.class),
+				Runnable::run,
+				Runnable::run,
+				new SimpleMeterRegistry(),
+				mock(ApplicationEventPublisher.class),
+				mock(SessionSummaryService.class));
+	}
+
+	// =====================================================
+	// 메시지 기록
+	// =====================================================
+
+	@Test
+	void exactlyLimitMessagesHasNoNextPage() {
+		ChatSession session = session("MY", T);
+		for (int i = 0; i < 3; i++) message(session, T.plusSeconds(i));
+
+		CursorPageResponse<ChatMessageResponse> page = chatService.getChatHistoryPage(session.getId(), null, 3);
+
+		assertThat(page.getItems()).hasSize(3);
+		assertThat(page.isHasNext()).isFalse();
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void oneMoreThanLimitHasNextPage() {
+		ChatSession session = session("MY", T);
+		for (int i = 0; i < 4; i++) message(session, T.plusSeconds(i));
+
+		CursorPageResponse<ChatMessageResponse> first = chatService.getChatHistoryPage(session.getId(), null, 3);
+		assertThat(first.getItems()).hasSize(3);
+		assertThat(first.isHasNext()).isTrue();
+		assertThat(first.getNextCursor()).isNotNull();
+
+		CursorPageResponse<ChatMessageResponse> second =
+				chatService.getChatHistoryPage(session.getId(), first.getNextCursor(), 3);
+		assertThat(second.getItems()).hasSize(1);
+		assertThat(second.isHasNext()).isFalse();
+	}
+
+	@Test
+	void messagesWithSameTimestampArePagedById() {
+		ChatSession session = session("MY", T);
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) ids.add(message(session, T).getId());
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageResponse<ChatMessageResponse> page = chatService.getChatHistoryPage(session.getId(), cursor, 2);
+			page.getItems().forEach(item -> seen.add(item.getMessageId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		// 빠지거나 겹치는 메시지 없이 id 오름차순
+		assertThat(seen).containsExactlyElementsOf(ids);
+	}
+
+	// =====================================================
+	// 세션 목록
+	// =====================================================
+
+	@Test
+	void sessionsWithSameStartTimeArePagedByIdDescending() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 3; i++) ids.add(session("MY", T).getId());
+		session("SPACE", T); // 다른 타입은 제외
+
+		CursorPageResponse<ChatSessionSummaryResponse> first = chatService.getSessionListPage("MY", null, 2);
+		assertThat(first.getItems()).extracting(ChatSessionSummaryResponse::getSessionId)
+				.containsExactly(ids.get(2), ids.get(1));
+		assertThat(first.isHasNext()).isTrue();
+
+		CursorPageResponse<ChatSessionSummaryResponse> second =
+				chatService.getSessionListPage("MY", first.getNextCursor(), 2);
+		assertThat(second.getItems()).extracting(ChatSessionSummaryResponse::getSessionId)
+				.containsExactly(ids.get(0));
+		assertThat(second.isHasNext()).isFalse();
+		assertThat(second.getNextCursor()).isNull();
+	}
+
+	// =====================================================
+	// 세션 10k 개 목록 조회: 쿼리 수 + 시간
+	// =====================================================
+
+	@Test
+	void sessionListAt10kSessionsRunsOneQuery() {
+		List<ChatSession> sessions = new ArrayList<>();
+		for (int i = 0; i < BENCHMARK_SESSIONS; i++) {
+			sessions.add(ChatSession.builder().type("MY").topic("세션 " + i)
+					.startTime(T.plusSeconds(i)).isEnded(true).build());
+		}
+		sessionRepo.saveAll(sessions);
+
+		List<ChatMessage> messages = new ArrayList<>();
+		for (ChatSession session : sessions) {
+			messages.add(newMessage(session, "user", "첫 메시지"));
+			messages.add(newMessage(session, "ai", "마지막 " + session.getId()));
+		}
+		messageRepo.saveAll(messages);
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+		// 현재: 프로젝션 쿼리 1번
+		stats.clear();
+		long start = System.nanoTime();
+		List<ChatSessionSummaryResponse> list = chatService.getSessionList("MY");
+		long singleQueryMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		long singleQueryStatements = stats.getPrepareStatementCount();
+
+		assertThat(list).hasSize(BENCHMARK_SESSIONS);
+		assertThat(list.get(0).getLatestMessage()).isEqualTo("마지막 " + sessions.get(BENCHMARK_SESSIONS - 1).getId());
+		assertThat(singleQueryStatements).isEqualTo(1);
+
+		// 키셋 페이지도 1번
+		stats.clear();
+		CursorPageResponse<ChatSessionSummaryResponse> page = chatService.getSessionListPage("MY", null, 20);
+		chatService.getSessionListPage("MY", page.getNextCursor(), 20);
+		assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+
+		// 비교: 예전 방식 (세션 목록 + 세션마다 마지막 메시지 조회)
+		entityManager.clear();
+		stats.clear();
+		start = System.nanoTime();
+		for (ChatSession session : sessionRepo.findByTypeOrderByStartTimeDesc("MY")) {
+			messageRepo.findTopBySessionIdOrderByCreatedAtDesc(session.getId());
+		}
+		long perSessionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		long perSessionStatements = stats.getPrepareStatementCount();
+
+		assertThat(perSessionStatements).isEqualTo(1 + BENCHMARK_SESSIONS);
+
+		System.out.println("📊 세션 목록 " + BENCHMARK_SESSIONS + "개: 프로젝션 " + singleQueryStatements + "쿼리 / "
+				+ singleQueryMs + "ms, 세션별 조회 " + perSessionStatements + "쿼리 / " + perSessionMs + "ms");
+	}
+
+	// =====================================================
+	// 헬퍼
+	// =====================================================
+
+	private ChatSession session(String type, LocalDateTime startTime) {
+		return sessionRepo.save(ChatSession.builder()
+				.type(type)
+				.topic("테스트")
+				.startTime(startTime)
+				.isEnded(false)
+				.build());
+	}
+
+	private static ChatMessage newMessage(ChatSession session, String sender, String text) {
+		ChatMessage msg = new ChatMessage();
+		msg.setSession(session);
+		msg.setSender(sender);
+		msg.setText(text);
+		msg.setCreatedAt(session.getStartTime());
+		return msg;
+	}
+
+	private ChatMessage message(ChatSession session, LocalDateTime createdAt) {
+		ChatMessage msg = new ChatMessage();
+		msg.setSession(session);
+		msg.setSender("user");
+		msg.setText("안녕");
+		msg.setCreatedAt(createdAt);
+		return messageRepo.save(msg);
+	}
+}
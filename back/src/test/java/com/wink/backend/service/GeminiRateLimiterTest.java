@@ -0,0 +1,125 @@
+package com.wink.backend.service;
+
+import com.wink.backend.service.GeminiOperation.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiRateLimiterTest {
+
+	private static final Duration WAIT = Duration.ofSeconds(5);
+	private static final Duration SHORT_WAIT = Duration.ofMillis(50);
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void interactiveIsServedBeforeEarlierBackground() throws Exception {
+		GeminiRateLimiter limiter = limiter(1, 1.0);
+		limiter.acquire(Priority.INTERACTIVE, WAIT); // 자리 하나를 차지
+
+		List<Priority> granted = new CopyOnWriteArrayList<>();
+		Future<?> background = executor.submit(() -> acquireAndRecord(limiter, Priority.BACKGROUND, granted));
+		awaitQueueSize(1);
+		Future<?> interactive = executor.submit(() -> acquireAndRecord(limiter, Priority.INTERACTIVE, granted));
+		awaitQueueSize(2);
+
+		limiter.release(GeminiRateLimiter.Outcome.SUCCESS);
+		interactive.get(5, TimeUnit.SECONDS);
+		assertThat(granted).containsExactly(Priority.INTERACTIVE);
+
+		limiter.release(GeminiRateLimiter.Outcome.SUCCESS);
+		background.get(5, TimeUnit.SECONDS);
+		assertThat(granted).containsExactly(Priority.INTERACTIVE, Priority.BACKGROUND);
+	}
+
+	@Test
+	void backgroundUsesOnlyItsShareOfTheLimit() throws Exception {
+		GeminiRateLimiter limiter = limiter(4, 0.5);
+
+		limiter.acquire(Priority.BACKGROUND, WAIT);
+		limiter.acquire(Priority.BACKGROUND, WAIT);
+
+		// BACKGROUND 몫(4 * 0.5 = 2) 소진
+		assertThatThrownBy(() -> limiter.acquire(Priority.BACKGROUND, SHORT_WAIT))
+				.isInstanceOf(TimeoutException.class);
+
+		// 남은 자리는 INTERACTIVE 용
+		limiter.acquire(Priority.INTERACTIVE, SHORT_WAIT);
+		limiter.acquire(Priority.INTERACTIVE, SHORT_WAIT);
+		assertThat(gauge("gemini.limiter.in-flight")).isEqualTo(4);
+	}
+
+	@Test
+	void throttledHalvesTheLimit() throws Exception {
+		GeminiRateLimiter limiter = limiter(8, 0.5);
+
+		limiter.acquire(Priority.INTERACTIVE, WAIT);
+		limiter.release(GeminiRateLimiter.Outcome.THROTTLED);
+
+		assertThat(gauge("gemini.limiter.concurrency.limit")).isEqualTo(4);
+	}
+
+	@Test
+	void timedOutWaiterIsRemovedAndCounted() throws Exception {
+		GeminiRateLimiter limiter = limiter(1, 1.0);
+		limiter.acquire(Priority.INTERACTIVE, WAIT);
+
+		assertThatThrownBy(() -> limiter.acquire(Priority.INTERACTIVE, SHORT_WAIT))
+				.isInstanceOf(TimeoutException.class);
+
+		assertThat(registry.counter("gemini.limiter.rejected", "priority", "INTERACTIVE").count()).isEqualTo(1);
+		assertThat(gauge("gemini.limiter.queue.size")).isZero();
+
+		// 남은 대기자가 맨 앞을 막고 있지 않음
+		limiter.release(GeminiRateLimiter.Outcome.SUCCESS);
+		limiter.acquire(Priority.INTERACTIVE, SHORT_WAIT);
+	}
+
+	// =====================================================
+	// 헬퍼
+	// =====================================================
+
+	/** 토큰은 넉넉하게 → 동시 요청 한도만 검증 */
+	private GeminiRateLimiter limiter(int concurrency, double backgroundShare) {
+		return new GeminiRateLimiter(registry, 1000, 1000, concurrency, 1, concurrency, 0.5, backgroundShare);
+	}
+
+	private static Void acquireAndRecord(GeminiRateLimiter limiter, Priority priority, List<Priority> granted)
+			throws Exception {
+		limiter.acquire(priority, WAIT);
+		granted.add(priority);
+		return null;
+	}
+
+	private void awaitQueueSize(int size) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (gauge("gemini.limiter.queue.size") != size) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("대기열 크기가 " + size + " 이 되지 않음");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private double gauge(String name) {
+		return registry.get(name).gauge().value();
+	}
+}
@@ -0,0 +1,141 @@
+package com.wink.backend.service;
+
+import com.wink.backend.repository.GeminiCacheEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GeminiServiceTest {
+
+	private static final GeminiOperation OPERATION = GeminiOperation.EXTRACT_TOPIC;
+	private static final String PROMPT = "비 오는 밤 드라이브";
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private GeminiClient geminiClient;
+	private GeminiService geminiService;
+
+	@BeforeEach
+	void setUp() {
+		geminiClient = mock(GeminiClient.class);
+		when(geminiClient.isConfigured()).thenReturn(true);
+
+		GeminiResponseCache cache = new GeminiResponseCache(
+				mock(GeminiCacheEntryRepository.class), registry, 100, Duration.ofHours(1), false);
+		geminiService = new GeminiService(geminiClient, cache, mock(KeywordTranslationStore.class), registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void coalescedCallersShareOneHttpCall() throws Exception {
+		GeminiClient.Reply reply = new GeminiClient.Reply(200, "{}", "빗길 위의 밤");
+		when(geminiClient.generate(any(), anyString())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return reply;
+		});
+
+		Future<GeminiClient.Reply> leader = executor.submit(() -> geminiService.generate(OPERATION, PROMPT));
+		awaitHttpCall();
+		Future<GeminiClient.Reply> follower = executor.submit(() -> geminiService.generate(OPERATION, PROMPT));
+		awaitCoalesced();
+
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(reply);
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(reply);
+		verify(geminiClient, times(1)).generate(any(), anyString());
+	}
+
+	@Test
+	void coalescedCallersGetTheSameException() throws Exception {
+		IOException failure = new IOException("connection reset");
+		when(geminiClient.generate(any(), anyString())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			throw failure;
+		});
+
+		Future<GeminiClient.Reply> leader = executor.submit(() -> geminiService.generate(OPERATION, PROMPT));
+		awaitHttpCall();
+		Future<GeminiClient.Reply> follower = executor.submit(() -> geminiService.generate(OPERATION, PROMPT));
+		awaitCoalesced();
+
+		release.countDown();
+
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseReference(failure);
+		assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseReference(failure);
+		verify(geminiClient, times(1)).generate(any(), anyString());
+	}
+
+	@Test
+	void callAfterLeaderFinishesIsServedFromCache() throws Exception {
+		when(geminiClient.generate(any(), anyString()))
+				.thenReturn(new GeminiClient.Reply(200, "{}", "빗길 위의 밤"));
+
+		geminiService.generate(OPERATION, PROMPT);
+		GeminiClient.Reply second = geminiService.generate(OPERATION, PROMPT);
+
+		assertThat(second.getText()).isEqualTo("빗길 위의 밤");
+		verify(geminiClient, times(1)).generate(any(), anyString());
+	}
+
+	// =====================================================
+	// 헬퍼
+	// =====================================================
+
+	/** 리더가 HTTP 호출 안에서 대기 중 */
+	private void awaitHttpCall() throws Exception {
+		awaitUntil(() -> httpCalls() == 1, "리더의 HTTP 호출이 시작되지 않음");
+	}
+
+	/** 두 번째 호출이 리더를 기다리는 중 */
+	private void awaitCoalesced() throws Exception {
+		awaitUntil(() -> registry.counter("gemini.requests.coalesced", "operation", OPERATION.getKey()).count() == 1,
+				"두 번째 호출이 합쳐지지 않음");
+	}
+
+	private long httpCalls() {
+		return mockingDetails(geminiClient).getInvocations().stream()
+				.filter(i -> i.getMethod().getName().equals("generate"))
+				.count();
+	}
+
+	private static void awaitUntil(BooleanSupplier condition, String message)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) throw new AssertionError(message);
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.wink.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+	@Test
+	void encodeDecodeRoundTrip() {
+		LocalDateTime time = LocalDateTime.of(2026, 3, 1, 21, 30, 15, 123_456_000);
+
+		KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(time, 42L).encode());
+
+		assertThat(decoded.getTime()).isEqualTo(time);
+		assertThat(decoded.getId()).isEqualTo(42L);
+	}
+
+	@Test
+	void roundTripKeepsWholeSeconds() {
+		// LocalDateTime.toString 은 초가 0이면 생략 ("2026-03-01T21:30")
+		LocalDateTime time = LocalDateTime.of(2026, 3, 1, 21, 30);
+
+		assertThat(KeysetCursor.decode(new KeysetCursor(time, 7L).encode()).getTime()).isEqualTo(time);
+	}
+
+	@Test
+	void emptyCursorMeansFirstPage() {
+		assertThat(KeysetCursor.decode(null)).isNull();
+		assertThat(KeysetCursor.decode("")).isNull();
+		assertThat(KeysetCursor.decode("  ")).isNull();
+	}
+
+	@Test
+	void invalidCursorThrowsIllegalArgument() {
+		assertThatThrownBy(() -> KeysetCursor.decode("not base64 !!"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> KeysetCursor.decode(encode("2026-03-01T21:30")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> KeysetCursor.decode(encode("yesterday|1")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> KeysetCursor.decode(encode("2026-03-01T21:30|abc")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}